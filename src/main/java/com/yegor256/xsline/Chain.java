@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Persistent list of elements, which grows by appending to its tail.
+ *
+ * <p>Appending a new element to it takes constant time and doesn't copy
+ * anything: the new chain refers to the previous one, which stays
+ * untouched. Elements are collected into a flat list only when the chain
+ * is iterated for the first time, and then they are returned from there,
+ * without any allocations per element.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @param <T> Type of element
+ * @since 0.23.0
+ */
+final class Chain<T> implements Iterable<T> {
+
+    /**
+     * Elements before the last one.
+     */
+    private final Iterable<T> prefix;
+
+    /**
+     * The last element.
+     */
+    private final T last;
+
+    /**
+     * All elements, in a flat list.
+     */
+    private final Supplier<List<T>> flat;
+
+    /**
+     * Ctor.
+     * @param before Elements before the last one, must not change
+     * @param element The last element
+     */
+    Chain(final Iterable<T> before, final T element) {
+        this.prefix = before;
+        this.last = element;
+        this.flat = new Sticky<>(this::flatten);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this.flat.get().iterator();
+    }
+
+    /**
+     * Append a new element.
+     * @param element The element
+     * @return New chain
+     */
+    Chain<T> with(final T element) {
+        return new Chain<>(this, element);
+    }
+
+    /**
+     * Collect all elements into a list, going back from the tail.
+     * @return The list
+     */
+    private List<T> flatten() {
+        final LinkedList<T> tail = new LinkedList<>();
+        Iterable<T> node = this;
+        while (node instanceof Chain) {
+            final Chain<T> chain = (Chain<T>) node;
+            tail.addFirst(chain.last);
+            node = chain.prefix;
+        }
+        final List<T> items = new ArrayList<>(tail.size());
+        for (final T item : node) {
+            items.add(item);
+        }
+        items.addAll(tail);
+        return Collections.unmodifiableList(items);
+    }
+}
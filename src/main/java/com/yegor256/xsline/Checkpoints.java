@@ -0,0 +1,54 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.Optional;
+
+/**
+ * Storage of intermediate documents, made by {@link StCheckpointed}.
+ *
+ * <p>Keys are hex hashes, which identify the input document together
+ * with the prefix of the train that was applied to it. Implementations
+ * may forget documents whenever they want, but they must never give out
+ * a document, which was not stored under the key.</p>
+ *
+ * @since 0.23.0
+ */
+public interface Checkpoints {
+
+    /**
+     * Find the document.
+     * @param key The key
+     * @return The document, if it's there
+     */
+    Optional<XML> load(String key);
+
+    /**
+     * Store the document.
+     * @param key The key
+     * @param xml The document
+     */
+    void store(String key, XML xml);
+}
@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.util.Properties;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+
+/**
+ * JAXP templates together with the factory that compiled them.
+ *
+ * <p>Transformers are made by the templates, while SAX handlers may only
+ * be made by a factory. Templates of one XSLT processor are not
+ * supposed to be given to a factory of another one, that's why
+ * handlers are made by the same factory that compiled the templates.
+ * Each stylesheet has its own factory, see {@link TemplatesOf}.</p>
+ *
+ * <p>The class is thread-safe. JAXP doesn't promise that factories are
+ * thread-safe, that's why this object locks its own factory while
+ * making a handler. Other stylesheets are not locked.</p>
+ *
+ * @since 0.23.0
+ */
+final class Compiled implements Templates {
+
+    /**
+     * The templates.
+     */
+    private final Templates origin;
+
+    /**
+     * The factory, which compiled them.
+     */
+    private final TransformerFactory factory;
+
+    /**
+     * Ctor.
+     * @param tpls The templates
+     * @param fct The factory, which compiled them
+     */
+    Compiled(final Templates tpls, final TransformerFactory fct) {
+        this.origin = tpls;
+        this.factory = fct;
+    }
+
+    @Override
+    public Transformer newTransformer() throws TransformerConfigurationException {
+        return this.origin.newTransformer();
+    }
+
+    @Override
+    public Properties getOutputProperties() {
+        return this.origin.getOutputProperties();
+    }
+
+    /**
+     * Can the factory make SAX handlers out of these templates?
+     * @return TRUE if {@link #handler()} may be used
+     */
+    boolean streams() {
+        return this.factory instanceof SAXTransformerFactory
+            && this.factory.getFeature(SAXTransformerFactory.FEATURE);
+    }
+
+    /**
+     * Make a new handler of SAX events.
+     * @return The handler
+     * @throws TransformerConfigurationException If fails
+     */
+    TransformerHandler handler() throws TransformerConfigurationException {
+        synchronized (this.factory) {
+            return ((SAXTransformerFactory) this.factory)
+                .newTransformerHandler(this.origin);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.log.Logger;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link Checkpoints} in a local directory.
+ *
+ * <p>Each document is saved into its own GZIP-compressed file, named
+ * by the key. Files are written into temporary files first and then
+ * atomically moved to their places, so that a reader never sees
+ * a half-written document, even if the directory is shared by a few
+ * processes.</p>
+ *
+ * <p>The directory is bounded by the total size of compressed files, in bytes.
+ * When the limit is exceeded, least recently used files are deleted,
+ * until only three quarters of the limit are used. Files that can't
+ * be read or parsed are deleted too, as well as temporary files older
+ * than an hour, which were left by processes that crashed while writing.
+ * Failures to write files are only logged, since the pass may continue
+ * without checkpoints.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+public final class CpDisk implements Checkpoints {
+
+    /**
+     * Extension of files.
+     */
+    private static final String EXT = ".xml.gz";
+
+    /**
+     * Extension of temporary files.
+     */
+    private static final String TMP = ".tmp";
+
+    /**
+     * Age of a temporary file, in milliseconds, after which it is
+     * considered left behind by a process that crashed.
+     */
+    private static final long ORPHAN = 60L * 60L * 1000L;
+
+    /**
+     * The directory.
+     */
+    private final Path dir;
+
+    /**
+     * Max total size of files, in bytes.
+     */
+    private final long budget;
+
+    /**
+     * The lock for {@link #total}.
+     */
+    private final Object lock;
+
+    /**
+     * Total size of files, in bytes, or a negative number if not known yet.
+     */
+    private long total;
+
+    /**
+     * Ctor.
+     * @param path The directory
+     */
+    public CpDisk(final Path path) {
+        this(path, 1L << 30);
+    }
+
+    /**
+     * Ctor.
+     * @param path The directory
+     * @param bytes Max total size of files, in bytes
+     */
+    public CpDisk(final Path path, final long bytes) {
+        this.dir = path;
+        this.budget = bytes;
+        this.lock = new Object();
+        this.total = -1L;
+    }
+
+    @Override
+    public Optional<XML> load(final String key) {
+        final Path file = this.dir.resolve(key + CpDisk.EXT);
+        Optional<XML> found = Optional.empty();
+        if (Files.exists(file)) {
+            try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+                found = Optional.of(new XMLDocument(input));
+                Files.setLastModifiedTime(
+                    file, FileTime.fromMillis(System.currentTimeMillis())
+                );
+            } catch (final IOException | IllegalArgumentException ex) {
+                Logger.warn(this, "Can't read checkpoint %s: %s", file, ex.getMessage());
+                CpDisk.delete(file);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void store(final String key, final XML xml) {
+        try {
+            Files.createDirectories(this.dir);
+            final byte[] bytes = xml.toString().getBytes(StandardCharsets.UTF_8);
+            final Path temp = Files.createTempFile(this.dir, key, CpDisk.TMP);
+            final Path file = this.dir.resolve(key + CpDisk.EXT);
+            final long before = CpDisk.size(file);
+            try {
+                CpDisk.write(temp, bytes);
+                Files.move(
+                    temp, file,
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+                );
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            this.grow(Files.size(file) - before);
+        } catch (final IOException ex) {
+            Logger.warn(this, "Can't save checkpoint %s: %s", key, ex.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.dir.toString();
+    }
+
+    /**
+     * Count new bytes and delete old files, if the limit is exceeded.
+     * @param bytes How many bytes were just added, maybe negative
+     * @throws IOException If fails
+     */
+    private void grow(final long bytes) throws IOException {
+        synchronized (this.lock) {
+            if (this.total < 0L) {
+                this.total = this.collect(Long.MAX_VALUE);
+            } else {
+                this.total += bytes;
+            }
+            if (this.total > this.budget) {
+                this.total = this.collect(this.budget / 4L * 3L);
+            }
+        }
+    }
+
+    /**
+     * Delete least recently used files, until the total size is small enough.
+     * @param max Max total size of files to keep
+     * @return Total size of files left
+     * @throws IOException If fails
+     */
+    private long collect(final long max) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> all = Files.list(this.dir)) {
+            files = all.collect(Collectors.toCollection(ArrayList::new));
+        }
+        final long stale = System.currentTimeMillis() - CpDisk.ORPHAN;
+        final Iterator<Path> iter = files.iterator();
+        while (iter.hasNext()) {
+            final Path file = iter.next();
+            final String name = String.valueOf(file.getFileName());
+            if (!name.endsWith(CpDisk.EXT)) {
+                iter.remove();
+                if (name.endsWith(CpDisk.TMP)
+                    && Files.getLastModifiedTime(file).toMillis() < stale) {
+                    CpDisk.delete(file);
+                }
+            }
+        }
+        final Map<Path, FileTime> times = new HashMap<>(files.size());
+        long size = 0L;
+        for (final Path file : files) {
+            times.put(file, Files.getLastModifiedTime(file));
+            size += Files.size(file);
+        }
+        files.sort(Comparator.comparing(times::get));
+        for (final Path file : files) {
+            if (size <= max) {
+                break;
+            }
+            size -= Files.size(file);
+            CpDisk.delete(file);
+        }
+        return size;
+    }
+
+    /**
+     * Write compressed bytes to the file.
+     * @param file The file
+     * @param bytes The bytes
+     * @throws IOException If fails
+     */
+    private static void write(final Path file, final byte[] bytes) throws IOException {
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(file))) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Size of the file, if it exists.
+     * @param file The file
+     * @return Size in bytes, or zero if it is absent
+     * @throws IOException If fails
+     */
+    private static long size(final Path file) throws IOException {
+        long size = 0L;
+        if (Files.exists(file)) {
+            size = Files.size(file);
+        }
+        return size;
+    }
+
+    /**
+     * Delete the file, if possible.
+     * @param file The file
+     */
+    private static void delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException ex) {
+            Logger.warn(CpDisk.class, "Can't delete %s: %s", file, ex.getMessage());
+        }
+    }
+}
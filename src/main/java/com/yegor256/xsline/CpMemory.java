@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.Optional;
+
+/**
+ * {@link Checkpoints} in memory.
+ *
+ * <p>Documents are kept in {@link ShiftCache}, bounded by the number of
+ * documents and their total size in DOM nodes, and are held by soft
+ * references, unless configured otherwise. The cache is also where the
+ * hits and misses may be seen.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+public final class CpMemory implements Checkpoints {
+
+    /**
+     * The cache.
+     */
+    private final ShiftCache cache;
+
+    /**
+     * Ctor.
+     */
+    public CpMemory() {
+        this(1024, 16_000_000L);
+    }
+
+    /**
+     * Ctor.
+     * @param entries Max number of documents to keep
+     * @param nodes Max total number of DOM nodes in all documents
+     */
+    public CpMemory(final int entries, final long nodes) {
+        this(new ShiftCache(entries, nodes, true));
+    }
+
+    /**
+     * Ctor.
+     * @param cch The cache
+     */
+    public CpMemory(final ShiftCache cch) {
+        this.cache = cch;
+    }
+
+    @Override
+    public Optional<XML> load(final String key) {
+        return Optional.ofNullable(this.cache.get(key));
+    }
+
+    @Override
+    public void store(final String key, final XML xml) {
+        this.cache.keep(key, xml);
+    }
+
+    @Override
+    public String toString() {
+        return this.cache.toString();
+    }
+}
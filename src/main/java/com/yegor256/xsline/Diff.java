@@ -0,0 +1,232 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.w3c.dom.Node;
+
+/**
+ * The first difference between two XML documents.
+ *
+ * <p>Both DOM trees are walked in parallel, in document order, until the
+ * first node that is different. Then, its XPath and a short excerpt of
+ * it are reported. Nothing is serialized entirely, and nothing
+ * is walked after the first difference. Subtrees that are the same
+ * node in both documents are not walked at all.</p>
+ *
+ * <p>The class is thread-safe, if the documents are not modified.</p>
+ *
+ * @since 0.23.0
+ */
+final class Diff {
+
+    /**
+     * The description of the difference, empty if there is none.
+     */
+    private final Supplier<String> text;
+
+    /**
+     * Ctor.
+     * @param before The first document
+     * @param after The second document
+     * @param chars Max length of the excerpt
+     */
+    Diff(final Node before, final Node after, final int chars) {
+        this.text = new Sticky<>(() -> Diff.find(before, after, chars));
+    }
+
+    @Override
+    public String toString() {
+        return this.text.get();
+    }
+
+    /**
+     * Are documents the same?
+     * @return TRUE if there is no difference
+     */
+    boolean empty() {
+        return this.text.get().isEmpty();
+    }
+
+    /**
+     * Find the first difference.
+     * @param first The first root
+     * @param second The second root
+     * @param chars Max length of the excerpt
+     * @return Description, or empty string if there is no difference
+     */
+    private static String find(final Node first, final Node second,
+        final int chars) {
+        String found = "";
+        Node[] pair = {first, second};
+        while (pair.length == 2) {
+            if (pair[1] == null) {
+                found = Diff.report("removed", pair[0], chars);
+                break;
+            }
+            if (pair[0] == null) {
+                found = Diff.report("added", pair[1], chars);
+                break;
+            }
+            final boolean deep = !pair[0].isSameNode(pair[1]);
+            if (deep && !Diff.same(pair[0], pair[1])) {
+                found = Diff.report("changed", pair[1], chars);
+                break;
+            }
+            pair = Diff.next(first, pair[0], pair[1], deep);
+        }
+        return found;
+    }
+
+    /**
+     * Next pair of nodes to compare, in document order.
+     * @param root The root of the first document
+     * @param left The current node in the first document
+     * @param right The current node in the second document
+     * @param deep Go into the children of the nodes
+     * @return Two nodes (any of them may be NULL, if it's absent)
+     *  or an empty array, if both documents are over
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static Node[] next(final Node root, final Node left,
+        final Node right, final boolean deep) {
+        Node lnext = null;
+        Node rnext = null;
+        if (deep) {
+            lnext = left.getFirstChild();
+            rnext = right.getFirstChild();
+        }
+        Node lcur = left;
+        Node rcur = right;
+        boolean over = false;
+        while (lnext == null && rnext == null && !over) {
+            if (lcur.isSameNode(root)) {
+                over = true;
+            } else {
+                lnext = lcur.getNextSibling();
+                rnext = rcur.getNextSibling();
+                lcur = lcur.getParentNode();
+                rcur = rcur.getParentNode();
+            }
+        }
+        final Node[] pair;
+        if (over) {
+            pair = new Node[0];
+        } else {
+            pair = new Node[] {lnext, rnext};
+        }
+        return pair;
+    }
+
+    /**
+     * Are these nodes the same, ignoring their children?
+     * @param left The first node
+     * @param right The second node
+     * @return TRUE if they are
+     */
+    private static boolean same(final Node left, final Node right) {
+        boolean same = left.getNodeType() == right.getNodeType()
+            && Objects.equals(left.getNamespaceURI(), right.getNamespaceURI())
+            && Objects.equals(left.getNodeName(), right.getNodeName());
+        if (same && left.getNodeType() == Node.ELEMENT_NODE) {
+            same = Fingerprint.attrs(left).equals(Fingerprint.attrs(right));
+        } else if (same) {
+            same = Objects.equals(left.getNodeValue(), right.getNodeValue());
+        }
+        return same;
+    }
+
+    /**
+     * Describe the difference.
+     * @param kind What happened
+     * @param node The node
+     * @param chars Max length of the excerpt
+     * @return Description
+     */
+    private static String report(final String kind, final Node node,
+        final int chars) {
+        return String.join(
+            "\n",
+            String.format("%s %s:", kind, Diff.path(node)),
+            new Excerpt(node, chars).toString()
+        );
+    }
+
+    /**
+     * XPath of the node.
+     * @param node The node
+     * @return XPath
+     */
+    private static String path(final Node node) {
+        final StringBuilder xpath = new StringBuilder(0);
+        Node current = node;
+        while (current != null && current.getNodeType() != Node.DOCUMENT_NODE) {
+            final String step = Diff.step(current);
+            int pos = 1;
+            Node prev = current.getPreviousSibling();
+            while (prev != null) {
+                if (prev.getNodeType() == current.getNodeType()
+                    && step.equals(Diff.step(prev))) {
+                    ++pos;
+                }
+                prev = prev.getPreviousSibling();
+            }
+            xpath.insert(0, String.format("/%s[%d]", step, pos));
+            current = current.getParentNode();
+        }
+        if (xpath.length() == 0) {
+            xpath.append('/');
+        }
+        return xpath.toString();
+    }
+
+    /**
+     * XPath step for the node.
+     * @param node The node
+     * @return The step, without position
+     */
+    private static String step(final Node node) {
+        final String step;
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                step = node.getNodeName();
+                break;
+            case Node.TEXT_NODE:
+            case Node.CDATA_SECTION_NODE:
+                step = "text()";
+                break;
+            case Node.COMMENT_NODE:
+                step = "comment()";
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+                step = "processing-instruction()";
+                break;
+            default:
+                step = "node()";
+                break;
+        }
+        return step;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.log.Logger;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.TransformerException;
+
+/**
+ * Error listener that logs and remembers all errors of XSL transformation.
+ *
+ * @since 0.23.0
+ */
+final class Errors implements ErrorListener {
+
+    /**
+     * Errors seen so far.
+     */
+    private final Collection<String> seen;
+
+    /**
+     * Ctor.
+     */
+    Errors() {
+        this.seen = new CopyOnWriteArrayList<>();
+    }
+
+    @Override
+    public void warning(final TransformerException warning) {
+        Logger.warn(this, "#warning(): %s", warning.getMessageAndLocation());
+        this.seen.add(warning.getMessageAndLocation());
+    }
+
+    @Override
+    public void error(final TransformerException error)
+        throws TransformerException {
+        Logger.error(this, "#error(): %s", error.getMessageAndLocation());
+        this.seen.add(error.getMessageAndLocation());
+        throw error;
+    }
+
+    @Override
+    public void fatalError(final TransformerException error)
+        throws TransformerException {
+        Logger.error(this, "#fatalError(): %s", error.getMessageAndLocation());
+        this.seen.add(error.getMessageAndLocation());
+        throw error;
+    }
+
+    /**
+     * Summarize all errors seen so far, together with the exception.
+     * @param error The exception, which stopped the transformation
+     * @return Summary, all messages separated by semicolons
+     */
+    String summary(final Exception error) {
+        final String last;
+        if (error instanceof TransformerException) {
+            last = ((TransformerException) error).getMessageAndLocation();
+        } else {
+            last = error.getMessage();
+        }
+        final StringBuilder summary = new StringBuilder(
+            String.join("; ", this.seen)
+        );
+        if (!summary.toString().equals(last)) {
+            if (summary.length() > 0) {
+                summary.append("; ");
+            }
+            summary.append(last);
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Node;
+
+/**
+ * Beginning of the text of an XML node, not longer than a limit.
+ *
+ * <p>The node is serialized only until the limit is reached, the rest of
+ * it is not even touched. Thus, an excerpt of a huge document is as cheap
+ * as an excerpt of a small one.</p>
+ *
+ * <p>The class is thread-safe, if the node is not modified.</p>
+ *
+ * @since 0.23.0
+ */
+final class Excerpt {
+
+    /**
+     * The node.
+     */
+    private final Node node;
+
+    /**
+     * Max length, in characters.
+     */
+    private final int limit;
+
+    /**
+     * Ctor.
+     * @param src The node
+     * @param chars Max length, in characters
+     */
+    Excerpt(final Node src, final int chars) {
+        this.node = src;
+        this.limit = chars;
+    }
+
+    @Override
+    public String toString() {
+        final String text;
+        if (this.node.getNodeType() == Node.ELEMENT_NODE
+            || this.node.getNodeType() == Node.DOCUMENT_NODE) {
+            text = this.serialized();
+        } else {
+            text = Excerpt.cut(String.valueOf(this.node.getNodeValue()), this.limit);
+        }
+        return text;
+    }
+
+    /**
+     * Serialize the node, until the limit is reached.
+     * @return The text
+     */
+    private String serialized() {
+        final Excerpt.Capped out = new Excerpt.Capped(this.limit);
+        try {
+            final Transformer trans = TransformerFactory.newInstance()
+                .newTransformer();
+            trans.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            trans.transform(new DOMSource(this.node), new StreamResult(out));
+        } catch (final TransformerException | UncheckedIOException ex) {
+            if (!out.full()) {
+                throw new IllegalStateException(
+                    "Failed to print XML node", ex
+                );
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Cut the text, if it's too long.
+     * @param text The text
+     * @param chars Max length
+     * @return The text, maybe shorter
+     */
+    private static String cut(final String text, final int chars) {
+        final String out;
+        if (text.length() > chars) {
+            out = String.format("%s...", text.substring(0, chars));
+        } else {
+            out = text;
+        }
+        return out;
+    }
+
+    /**
+     * Writer, which stops accepting characters when it's full.
+     *
+     * @since 0.23.0
+     */
+    private static final class Capped extends StringWriter {
+
+        /**
+         * Max length.
+         */
+        private final int max;
+
+        /**
+         * Ctor.
+         * @param chars Max length
+         */
+        Capped(final int chars) {
+            super(Math.min(chars, 1024));
+            this.max = chars;
+        }
+
+        @Override
+        public void write(final char[] buf, final int off, final int len) {
+            this.check();
+            super.write(
+                buf, off, Math.min(len, this.max - this.getBuffer().length() + 1)
+            );
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) {
+            this.check();
+            super.write(
+                str, off, Math.min(len, this.max - this.getBuffer().length() + 1)
+            );
+        }
+
+        @Override
+        public void write(final int chr) {
+            this.check();
+            super.write(chr);
+        }
+
+        @Override
+        public String toString() {
+            return Excerpt.cut(super.toString(), this.max);
+        }
+
+        /**
+         * Is it full already?
+         * @return TRUE if no more characters are accepted
+         */
+        boolean full() {
+            return this.getBuffer().length() > this.max;
+        }
+
+        /**
+         * Stop the serialization, if it's full.
+         */
+        private void check() {
+            if (this.full()) {
+                throw new UncheckedIOException(
+                    new IOException("The excerpt is full")
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Structural fingerprint of an XML document, a 128-bit hash by default.
+ *
+ * <p>The fingerprint is calculated by walking through the DOM tree,
+ * without serializing it into text. All elements, attributes, texts,
+ * comments and processing instructions are taken into account, together
+ * with the structure of the tree. The order of attributes doesn't matter.
+ * Two documents with equal fingerprints are considered equal.</p>
+ *
+ * <p>The hash is calculated right in the constructor, since the document
+ * may be modified later. The class is immutable and thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+final class Fingerprint {
+
+    /**
+     * Marker of the end of a node.
+     */
+    private static final byte CLOSE = (byte) 0xff;
+
+    /**
+     * The hash.
+     */
+    private final byte[] hash;
+
+    /**
+     * Ctor.
+     * @param xml The document
+     */
+    Fingerprint(final XML xml) {
+        this(xml.inner());
+    }
+
+    /**
+     * Ctor.
+     * @param node The node
+     */
+    Fingerprint(final Node node) {
+        this(node, "MD5");
+    }
+
+    /**
+     * Ctor.
+     * @param node The node
+     * @param algorithm The name of the digest algorithm, like "SHA-256"
+     */
+    Fingerprint(final Node node, final String algorithm) {
+        this.hash = Fingerprint.digest(node, algorithm);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof Fingerprint
+            && Arrays.equals(this.hash, ((Fingerprint) obj).hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.hash);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder hex = new StringBuilder(32);
+        for (final byte bte : this.hash) {
+            hex.append(String.format("%02x", bte));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * SHA-256 fingerprint of the document, in hex.
+     *
+     * <p>Documents that must not be modified, like {@link MemoXML}
+     * and {@link XdmXML}, calculate it only once and remember it.</p>
+     *
+     * @param xml The document
+     * @return The fingerprint
+     */
+    static String sha(final XML xml) {
+        final String sha;
+        if (xml instanceof MemoXML) {
+            sha = ((MemoXML) xml).fingerprint();
+        } else if (xml instanceof XdmXML) {
+            sha = ((XdmXML) xml).fingerprint();
+        } else {
+            sha = new Fingerprint(xml.inner(), "SHA-256").toString();
+        }
+        return sha;
+    }
+
+    /**
+     * All attributes of the element, in a stable order.
+     * @param node The element
+     * @return Attributes, each as "{ns}name=value"
+     */
+    static List<String> attrs(final Node node) {
+        final NamedNodeMap map = node.getAttributes();
+        final int total = map.getLength();
+        final List<String> attrs = new ArrayList<>(total);
+        for (int idx = 0; idx < total; ++idx) {
+            final Node attr = map.item(idx);
+            attrs.add(
+                String.format(
+                    "{%s}%s=%s", attr.getNamespaceURI(),
+                    attr.getNodeName(), attr.getNodeValue()
+                )
+            );
+        }
+        Collections.sort(attrs);
+        return attrs;
+    }
+
+    /**
+     * Walk through the tree and calculate the hash.
+     * @param root The root node
+     * @param algorithm The name of the digest algorithm
+     * @return The hash
+     */
+    private static byte[] digest(final Node root, final String algorithm) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        Node node = root;
+        while (true) {
+            Fingerprint.enter(digest, node);
+            Node next = node.getFirstChild();
+            if (next == null) {
+                while (true) {
+                    digest.update(Fingerprint.CLOSE);
+                    if (node.isSameNode(root)) {
+                        return digest.digest();
+                    }
+                    next = node.getNextSibling();
+                    if (next != null) {
+                        break;
+                    }
+                    node = node.getParentNode();
+                }
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * Add the node itself (without its children) to the hash.
+     * @param digest The digest
+     * @param node The node
+     */
+    private static void enter(final MessageDigest digest, final Node node) {
+        digest.update((byte) node.getNodeType());
+        switch (node.getNodeType()) {
+            case Node.ELEMENT_NODE:
+                Fingerprint.update(digest, node.getNamespaceURI());
+                Fingerprint.update(digest, node.getNodeName());
+                for (final String attr : Fingerprint.attrs(node)) {
+                    Fingerprint.update(digest, attr);
+                }
+                break;
+            case Node.PROCESSING_INSTRUCTION_NODE:
+            case Node.DOCUMENT_TYPE_NODE:
+                Fingerprint.update(digest, node.getNodeName());
+                Fingerprint.update(digest, node.getNodeValue());
+                break;
+            default:
+                Fingerprint.update(digest, node.getNodeValue());
+                break;
+        }
+    }
+
+    /**
+     * Add text to the hash.
+     * @param digest The digest
+     * @param text The text, may be NULL
+     */
+    private static void update(final MessageDigest digest, final String text) {
+        if (text != null) {
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+}
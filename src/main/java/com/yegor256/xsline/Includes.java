@@ -0,0 +1,298 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.Sources;
+import com.jcabi.xml.XMLDocument;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Stylesheets included and imported by another one.
+ *
+ * <p>They are found without compiling, by {@code xsl:include} and
+ * {@code xsl:import} elements, resolved by the sources of the stylesheet,
+ * and read, in order to make a {@link Signature} of the stylesheet
+ * together with all of them.</p>
+ *
+ * <p>If the sources don't resolve a URI, it is resolved against the base,
+ * as the compiler would do it. If the content can't be read, for example
+ * because the source is a DOM, the stylesheet can't be identified.</p>
+ *
+ * <p>If any of the stylesheets reads other documents, by
+ * {@code document()}, {@code unparsed-text()}, {@code collection()},
+ * {@code xsl:source-document}, and the like, the stylesheet can't be
+ * identified either, since its output depends on them too. They are
+ * found by their names in the text, so a stylesheet that only mentions
+ * such a function, for example in a comment, is not identified.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+final class Includes {
+
+    /**
+     * XPath of all included and imported stylesheets.
+     */
+    private static final String HREFS = String.join(
+        "",
+        "//*[namespace-uri()='http://www.w3.org/1999/XSL/Transform'",
+        " and (local-name()='include' or local-name()='import')]/@href"
+    );
+
+    /**
+     * Calls of functions and instructions that read other documents.
+     */
+    private static final Pattern READS = Pattern.compile(
+        String.join(
+            "",
+            "(?<![\\w.-])(document|doc|doc-available|unparsed-text",
+            "|unparsed-text-lines|unparsed-text-available|collection",
+            "|uri-collection|json-doc)\\s*\\(",
+            "|:source-document\\b|:merge-source\\b"
+        )
+    );
+
+    /**
+     * The sources to resolve includes.
+     */
+    private final Sources sources;
+
+    /**
+     * Ctor.
+     * @param srcs The sources to resolve includes
+     */
+    Includes(final Sources srcs) {
+        this.sources = srcs;
+    }
+
+    /**
+     * SHA-256 hash of all stylesheets included and imported by this one,
+     * directly or through others.
+     * @param text The text of the stylesheet
+     * @param base The system ID of it, maybe NULL
+     * @return The hash, in hex, empty if any of them can't be read
+     *  or reads other documents
+     */
+    String closure(final String text, final String base) {
+        final List<String> hashes = new ArrayList<>(0);
+        String hash = "";
+        if (this.closure(text, base, new HashSet<>(0), hashes)) {
+            hash = Signature.sha(hashes.toArray(new String[0]));
+        }
+        return hash;
+    }
+
+    /**
+     * Add hashes of all stylesheets included by this one.
+     * @param text The text of the stylesheet
+     * @param base The system ID of it, maybe NULL
+     * @param seen System IDs of stylesheets already seen
+     * @param hashes Where to add HREFs and hashes
+     * @return TRUE if all of them were read and none reads other documents
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private boolean closure(final String text, final String base,
+        final Set<String> seen, final List<String> hashes) {
+        boolean done = !Includes.READS.matcher(text).find();
+        if (done && (text.contains("include") || text.contains("import"))) {
+            for (final String href : new XMLDocument(text).xpath(Includes.HREFS)) {
+                done = this.include(href, base, seen, hashes);
+                if (!done) {
+                    break;
+                }
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Add hashes of the included stylesheet and everything it includes.
+     * @param href The HREF
+     * @param base The base
+     * @param seen System IDs of stylesheets already seen
+     * @param hashes Where to add HREFs and hashes
+     * @return TRUE if all of them were read and none reads other documents
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private boolean include(final String href, final String base,
+        final Set<String> seen, final List<String> hashes) {
+        boolean done;
+        try {
+            final Source src = this.sources.resolve(href, base);
+            final String sid = Includes.sid(src, href, base);
+            final byte[] bytes = Includes.content(src, href, base);
+            done = bytes.length > 0;
+            if (done) {
+                hashes.add(href);
+                hashes.add(Includes.sha(bytes));
+                if (seen.add(String.valueOf(sid))) {
+                    done = this.closure(
+                        new String(bytes, StandardCharsets.UTF_8),
+                        sid, seen, hashes
+                    );
+                }
+            }
+        } catch (final TransformerException | IOException ex) {
+            done = false;
+        }
+        return done;
+    }
+
+    /**
+     * Read the content of the source.
+     * @param src The source, maybe NULL
+     * @param href The HREF
+     * @param base The base
+     * @return The content, empty if it can't be read
+     * @throws IOException If fails
+     */
+    private static byte[] content(final Source src, final String href,
+        final String base) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        if (src == null) {
+            try (InputStream input = Includes.url(href, base).openStream()) {
+                Includes.copy(input, baos);
+            }
+        } else if (src instanceof StreamSource) {
+            Includes.copy((StreamSource) src, baos);
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * System ID of the source.
+     * @param src The source, maybe NULL
+     * @param href The HREF
+     * @param base The base
+     * @return System ID, maybe NULL
+     * @throws IOException If the URL is not valid
+     */
+    private static String sid(final Source src, final String href,
+        final String base) throws IOException {
+        final String sid;
+        if (src == null) {
+            sid = Includes.url(href, base).toString();
+        } else {
+            sid = src.getSystemId();
+        }
+        return sid;
+    }
+
+    /**
+     * Copy the content of the stream source.
+     * @param src The source
+     * @param baos Where to copy
+     * @throws IOException If fails
+     */
+    private static void copy(final StreamSource src,
+        final ByteArrayOutputStream baos) throws IOException {
+        if (src.getInputStream() == null && src.getReader() == null) {
+            if (src.getSystemId() != null) {
+                try (InputStream input = new URL(src.getSystemId()).openStream()) {
+                    Includes.copy(input, baos);
+                }
+            }
+        } else if (src.getInputStream() == null) {
+            final StringBuilder text = new StringBuilder(0);
+            try (Reader reader = src.getReader()) {
+                final char[] buf = new char[8192];
+                while (true) {
+                    final int len = reader.read(buf);
+                    if (len < 0) {
+                        break;
+                    }
+                    text.append(buf, 0, len);
+                }
+            }
+            baos.write(text.toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            try (InputStream input = src.getInputStream()) {
+                Includes.copy(input, baos);
+            }
+        }
+    }
+
+    /**
+     * Copy the entire stream.
+     * @param input The stream
+     * @param baos Where to copy
+     * @throws IOException If fails
+     */
+    private static void copy(final InputStream input,
+        final ByteArrayOutputStream baos) throws IOException {
+        final byte[] buf = new byte[8192];
+        while (true) {
+            final int len = input.read(buf);
+            if (len < 0) {
+                break;
+            }
+            baos.write(buf, 0, len);
+        }
+    }
+
+    /**
+     * Resolve the HREF against the base, as a URL.
+     * @param href The HREF
+     * @param base The base
+     * @return The URL
+     * @throws IOException If the URL is not valid
+     */
+    private static URL url(final String href, final String base)
+        throws IOException {
+        final URL url;
+        if (base == null || base.isEmpty()) {
+            url = new URL(href);
+        } else {
+            url = new URL(new URL(base), href);
+        }
+        return url;
+    }
+
+    /**
+     * SHA-256 hash of the content.
+     * @param bytes The content
+     * @return The hash, in hex, empty if the content is empty
+     */
+    private static String sha(final byte[] bytes) {
+        String hash = "";
+        if (bytes.length > 0) {
+            hash = Signature.sha(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return hash;
+    }
+}
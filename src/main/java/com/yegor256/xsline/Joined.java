@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator through all elements of a few iterables, one after another.
+ *
+ * <p>Nothing is copied: the iterables are iterated lazily, only when
+ * their elements are needed.</p>
+ *
+ * <p>The class is NOT thread-safe.</p>
+ *
+ * @param <T> Type of element
+ * @since 0.23.0
+ */
+final class Joined<T> implements Iterator<T> {
+
+    /**
+     * Iterables still to visit.
+     */
+    private final Iterator<? extends Iterable<T>> rest;
+
+    /**
+     * The current iterator.
+     */
+    private Iterator<T> current;
+
+    /**
+     * Ctor.
+     * @param items Iterables to join
+     */
+    Joined(final Iterator<? extends Iterable<T>> items) {
+        this.rest = items;
+        this.current = Collections.emptyIterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.current.hasNext() && this.rest.hasNext()) {
+            this.current = this.rest.next().iterator();
+        }
+        return this.current.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("No more elements in the trains");
+        }
+        return this.current.next();
+    }
+}
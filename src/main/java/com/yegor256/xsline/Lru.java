@@ -0,0 +1,237 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Bounded map, which forgets least recently used entries first.
+ *
+ * <p>The map is bounded by the number of entries and by their total
+ * weight, which is calculated by the provided function. When any of the
+ * two limits is exceeded, the eldest entries are evicted, until both limits
+ * are respected again. The map counts hits, misses, and evictions.</p>
+ *
+ * <p>The class is thread-safe. Values are calculated outside of the
+ * lock, so two threads may calculate the same value at the same time,
+ * but only the first one will be remembered.</p>
+ *
+ * @param <K> Type of keys
+ * @param <V> Type of values
+ * @since 0.23.0
+ */
+final class Lru<K, V> {
+
+    /**
+     * The entries, in the order of their usage.
+     */
+    private final Map<K, V> map;
+
+    /**
+     * Max number of entries.
+     */
+    private final int entries;
+
+    /**
+     * Max total weight of entries.
+     */
+    private final long budget;
+
+    /**
+     * The weight of one entry.
+     */
+    private final ToLongBiFunction<K, V> weigher;
+
+    /**
+     * Total weight of all entries.
+     */
+    private final AtomicLong total;
+
+    /**
+     * Hits.
+     */
+    private final AtomicLong found;
+
+    /**
+     * Misses.
+     */
+    private final AtomicLong missed;
+
+    /**
+     * Evictions.
+     */
+    private final AtomicLong evicted;
+
+    /**
+     * Ctor.
+     * @param max Max number of entries
+     * @param limit Max total weight of entries
+     * @param fun The weight of one entry
+     */
+    Lru(final int max, final long limit, final ToLongBiFunction<K, V> fun) {
+        this.map = new LinkedHashMap<>(16, 0.75f, true);
+        this.entries = max;
+        this.budget = limit;
+        this.weigher = fun;
+        this.total = new AtomicLong();
+        this.found = new AtomicLong();
+        this.missed = new AtomicLong();
+        this.evicted = new AtomicLong();
+    }
+
+    /**
+     * Get the value by the key, or calculate and remember it.
+     * @param key The key
+     * @param fresh Calculates the value if it's absent
+     * @return The value
+     */
+    V get(final K key, final Supplier<V> fresh) {
+        V value;
+        synchronized (this.map) {
+            value = this.map.get(key);
+        }
+        if (value == null) {
+            this.missed.incrementAndGet();
+            value = this.put(key, fresh.get());
+        } else {
+            this.found.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Get the value by the key, if it's present.
+     * @param key The key
+     * @return The value or NULL, if absent
+     */
+    V get(final K key) {
+        final V value;
+        synchronized (this.map) {
+            value = this.map.get(key);
+        }
+        if (value == null) {
+            this.missed.incrementAndGet();
+        } else {
+            this.found.incrementAndGet();
+        }
+        return value;
+    }
+
+    /**
+     * Remember the value, unless another value is already there.
+     * @param key The key
+     * @param value The value
+     * @return The value remembered under the key
+     */
+    V put(final K key, final V value) {
+        synchronized (this.map) {
+            final V before = this.map.putIfAbsent(key, value);
+            final V after;
+            if (before == null) {
+                this.total.addAndGet(this.weigher.applyAsLong(key, value));
+                this.shrink();
+                after = value;
+            } else {
+                after = before;
+            }
+            return after;
+        }
+    }
+
+    /**
+     * Forget the value, if it's present.
+     * @param key The key
+     */
+    void remove(final K key) {
+        synchronized (this.map) {
+            final V value = this.map.remove(key);
+            if (value != null) {
+                this.total.addAndGet(-this.weigher.applyAsLong(key, value));
+            }
+        }
+    }
+
+    /**
+     * How many times the value was found.
+     * @return Total number of hits
+     */
+    long hits() {
+        return this.found.get();
+    }
+
+    /**
+     * How many times the value was not found.
+     * @return Total number of misses
+     */
+    long misses() {
+        return this.missed.get();
+    }
+
+    /**
+     * How many entries were evicted.
+     * @return Total number of evictions
+     */
+    long evictions() {
+        return this.evicted.get();
+    }
+
+    /**
+     * How many entries are there now.
+     * @return Number of entries
+     */
+    int size() {
+        synchronized (this.map) {
+            return this.map.size();
+        }
+    }
+
+    /**
+     * Total weight of all entries now.
+     * @return The weight
+     */
+    long weight() {
+        return this.total.get();
+    }
+
+    /**
+     * Evict the eldest entries, until limits are respected.
+     */
+    private void shrink() {
+        final Iterator<Map.Entry<K, V>> eldest = this.map.entrySet().iterator();
+        while (eldest.hasNext()
+            && (this.map.size() > this.entries || this.total.get() > this.budget)) {
+            final Map.Entry<K, V> entry = eldest.next();
+            this.total.addAndGet(
+                -this.weigher.applyAsLong(entry.getKey(), entry.getValue())
+            );
+            eldest.remove();
+            this.evicted.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+import org.w3c.dom.Node;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.SAXParseException;
+
+/**
+ * XML document, which remembers its text and its DOM.
+ *
+ * <p>When the document is made of text, it is not parsed until somebody
+ * needs its DOM. When it is made of DOM, it is not printed until somebody
+ * needs its text. Both of them are calculated only once, as well as results
+ * of {@link #xpath(String)}, so that {@link StLogged}, {@link StEndless},
+ * and predicates of your own shifts may look at the same document many
+ * times almost for free. Stylesheets of {@link XSLTemplates} read the
+ * text of such a document directly, if it wasn't parsed yet. Its
+ * SHA-256 {@link Fingerprint}, which {@link StCached} and
+ * {@link StCheckpointed} need, is also calculated only once.</p>
+ *
+ * <p>Outputs of {@link XSLTemplates}, {@link StStreamed}, and
+ * {@link StXSL} are such documents. Since their results are remembered,
+ * they must not be modified.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ * @checkstyle AbbreviationAsWordInNameCheck (5 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class MemoXML implements XML {
+
+    /**
+     * The text, if it's known.
+     */
+    private final AtomicReference<String> text;
+
+    /**
+     * The DOM, if it's known.
+     */
+    private final AtomicReference<XML> dom;
+
+    /**
+     * Results of XPath queries.
+     */
+    private final Map<String, List<String>> queries;
+
+    /**
+     * The SHA-256 fingerprint, if it's known.
+     */
+    private final AtomicReference<String> print;
+
+    /**
+     * Ctor.
+     * @param txt The text
+     */
+    public MemoXML(final String txt) {
+        this(txt, null, null);
+    }
+
+    /**
+     * Ctor.
+     * @param node The DOM, which must not be modified later
+     */
+    public MemoXML(final Node node) {
+        this(new XMLDocument(node));
+    }
+
+    /**
+     * Ctor.
+     * @param xml The document, which must not be modified later
+     */
+    public MemoXML(final XML xml) {
+        this(null, xml, null);
+    }
+
+    /**
+     * Ctor.
+     * @param txt The text
+     * @param sha Its SHA-256 fingerprint, see {@link Fingerprint#sha(XML)}
+     */
+    MemoXML(final String txt, final String sha) {
+        this(txt, null, sha);
+    }
+
+    /**
+     * Ctor.
+     * @param txt The text or NULL
+     * @param xml The document or NULL
+     * @param sha The fingerprint or NULL
+     */
+    private MemoXML(final String txt, final XML xml, final String sha) {
+        this.text = new AtomicReference<>(txt);
+        this.dom = new AtomicReference<>(xml);
+        this.queries = new ConcurrentHashMap<>(0);
+        this.print = new AtomicReference<>(sha);
+    }
+
+    @Override
+    public List<String> xpath(final String query) {
+        return this.queries.computeIfAbsent(
+            query, qry -> Collections.unmodifiableList(this.parsed().xpath(qry))
+        );
+    }
+
+    @Override
+    public List<XML> nodes(final String query) {
+        return this.parsed().nodes(query);
+    }
+
+    @Override
+    public XML registerNs(final String prefix, final Object uri) {
+        return this.parsed().registerNs(prefix, uri);
+    }
+
+    @Override
+    public XML merge(final NamespaceContext context) {
+        return this.parsed().merge(context);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public Node node() {
+        return this.parsed().node();
+    }
+
+    @Override
+    public Node inner() {
+        return this.parsed().inner();
+    }
+
+    @Override
+    public Node deepCopy() {
+        return this.parsed().deepCopy();
+    }
+
+    @Override
+    public Collection<SAXParseException> validate(final LSResourceResolver resolver) {
+        return this.parsed().validate(resolver);
+    }
+
+    @Override
+    public Collection<SAXParseException> validate(final XML xsd) {
+        return this.parsed().validate(xsd);
+    }
+
+    @Override
+    public String toString() {
+        String txt = this.text.get();
+        if (txt == null) {
+            this.text.compareAndSet(null, this.parsed().toString());
+            txt = this.text.get();
+        }
+        return txt;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof XML
+            && this.toString().equals(obj.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.toString().hashCode();
+    }
+
+    /**
+     * The SHA-256 fingerprint, calculated only once.
+     * @return The fingerprint, in hex
+     */
+    String fingerprint() {
+        String sha = this.print.get();
+        if (sha == null) {
+            this.print.compareAndSet(
+                null, new Fingerprint(this.parsed().inner(), "SHA-256").toString()
+            );
+            sha = this.print.get();
+        }
+        return sha;
+    }
+
+    /**
+     * Make a source for a transformer, without parsing the document, if
+     * it wasn't parsed yet.
+     * @param xml The document
+     * @return The source
+     */
+    static Source source(final XML xml) {
+        Source src = null;
+        if (xml instanceof MemoXML) {
+            final MemoXML memo = (MemoXML) xml;
+            if (memo.dom.get() == null) {
+                src = new StreamSource(new StringReader(memo.text.get()));
+            }
+        }
+        if (src == null) {
+            src = new DOMSource(xml.inner());
+        }
+        return src;
+    }
+
+    /**
+     * The text of the document, if it's already known.
+     * @param xml The document
+     * @return The text, or NULL if it's not a memo or it wasn't printed yet
+     */
+    static String printed(final XML xml) {
+        String txt = null;
+        if (xml instanceof MemoXML) {
+            txt = ((MemoXML) xml).text.get();
+        }
+        return txt;
+    }
+
+    /**
+     * Is it a document, which has no DOM yet?
+     * @param xml The document
+     * @return TRUE if it's a memo, which wasn't parsed yet
+     */
+    static boolean unparsed(final XML xml) {
+        return xml instanceof MemoXML && ((MemoXML) xml).dom.get() == null;
+    }
+
+    /**
+     * Remember the document, unless it's remembered already.
+     * @param xml The document
+     * @return The same document or a new one, which remembers
+     */
+    static XML memo(final XML xml) {
+        final XML memo;
+        if (xml instanceof MemoXML || xml instanceof XdmXML) {
+            memo = xml;
+        } else {
+            memo = new MemoXML(xml);
+        }
+        return memo;
+    }
+
+    /**
+     * The DOM, parsed if necessary.
+     * @return The DOM
+     */
+    private XML parsed() {
+        XML xml = this.dom.get();
+        if (xml == null) {
+            this.dom.compareAndSet(null, new XMLDocument(this.text.get()));
+            xml = this.dom.get();
+        }
+        return xml;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.log.Logger;
+import java.util.function.Consumer;
+import javax.xml.transform.Transformer;
+import net.sf.saxon.jaxp.TransformerImpl;
+import net.sf.saxon.s9api.Location;
+import net.sf.saxon.s9api.Message;
+
+/**
+ * Listener of {@code xsl:message}, which logs them all.
+ *
+ * <p>Saxon, unless told otherwise, prints messages to the console.
+ * This listener sends them to the log, the same way
+ * {@link com.jcabi.xml.XSLDocument} does it. This class touches Saxon,
+ * which may be absent in runtime, that's why it must be used only
+ * when it's known that Saxon is here.</p>
+ *
+ * @since 0.23.0
+ */
+final class Messages implements Consumer<Message> {
+
+    @Override
+    public void accept(final Message message) {
+        Logger.error(
+            Messages.class, "%s: %s",
+            Messages.where(message.getLocation()),
+            message.getStringValue()
+        );
+    }
+
+    /**
+     * Install the listener into the transformer, if it's made by Saxon.
+     * @param trans The transformer
+     */
+    static void install(final Transformer trans) {
+        if (trans instanceof TransformerImpl) {
+            ((TransformerImpl) trans).getUnderlyingXsltTransformer()
+                .setMessageHandler(new Messages());
+        }
+    }
+
+    /**
+     * Where the message comes from.
+     * @param location The location, may be NULL
+     * @return System ID and line number
+     */
+    private static String where(final Location location) {
+        final String where;
+        if (location == null) {
+            where = "?";
+        } else {
+            where = String.format(
+                "%s:%d", location.getSystemId(), location.getLineNumber()
+            );
+        }
+        return where;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import org.w3c.dom.Node;
+
+/**
+ * Number of nodes in an XML document.
+ *
+ * <p>All nodes of the tree are counted, including the document node
+ * itself, but not attributes. Documents made by {@link TrSaxon} are
+ * counted without converting them into DOM.</p>
+ *
+ * @since 0.23.0
+ */
+final class Nodes {
+
+    /**
+     * The document.
+     */
+    private final XML xml;
+
+    /**
+     * Ctor.
+     * @param doc The document
+     */
+    Nodes(final XML doc) {
+        this.xml = doc;
+    }
+
+    /**
+     * Count them.
+     * @return How many nodes are there
+     */
+    long count() {
+        final long total;
+        if (this.xml instanceof XdmXML) {
+            total = ((XdmXML) this.xml).size();
+        } else {
+            total = Nodes.walk(this.xml.inner());
+        }
+        return total;
+    }
+
+    /**
+     * Count all nodes in the DOM tree.
+     * @param root The root node
+     * @return How many nodes are there
+     */
+    private static long walk(final Node root) {
+        long total = 0L;
+        Node node = root;
+        while (node != null) {
+            ++total;
+            Node next = node.getFirstChild();
+            while (next == null && node != null && !node.isSameNode(root)) {
+                next = node.getNextSibling();
+                node = node.getParentNode();
+            }
+            node = next;
+        }
+        return total;
+    }
+}
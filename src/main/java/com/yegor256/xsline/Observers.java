@@ -0,0 +1,351 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.w3c.dom.Node;
+
+/**
+ * Observers, which are still running in background, in the current thread.
+ *
+ * <p>{@link Xsline#pass(com.jcabi.xml.XML)} opens a new scope here
+ * before applying its first shift with {@link StAsync} inside, and
+ * closes it at the end, waiting for all observers started by
+ * {@link StAsync} inside the scope and raising their failures, if any.
+ * Scopes may be nested.</p>
+ *
+ * <p>Documents built of DOM are not thread-safe even for reading, while
+ * the pass keeps reading them. That's why observers get
+ * {@link Observers.Snapshot}s of them, which wait until the pass
+ * moves on to another document, see {@link #moved(XML)}, and then print
+ * the document in the thread of the first observer who needs it. If the
+ * pass is going to modify a document in place, it's printed right
+ * before that, in the thread of the pass, see {@link #editing(Node)}.</p>
+ *
+ * <p>The class is NOT thread-safe, each thread has its own instance.</p>
+ *
+ * @since 0.23.0
+ */
+final class Observers {
+
+    /**
+     * Observers of each thread.
+     */
+    private static final ThreadLocal<Observers> CURRENT =
+        ThreadLocal.withInitial(Observers::new);
+
+    /**
+     * Running observers.
+     */
+    private final List<Future<?>> running;
+
+    /**
+     * Snapshots of documents, which the pass may still be reading.
+     */
+    private final List<Observers.Snapshot> pending;
+
+    /**
+     * How many scopes are open.
+     */
+    private int depth;
+
+    /**
+     * Ctor.
+     */
+    private Observers() {
+        this.running = new ArrayList<>(0);
+        this.pending = new ArrayList<>(0);
+    }
+
+    /**
+     * Observers of the current thread.
+     * @return Observers
+     */
+    static Observers mine() {
+        return Observers.CURRENT.get();
+    }
+
+    /**
+     * Open a new scope.
+     * @return The mark of the scope, to give to {@link #close(int, boolean)}
+     */
+    int open() {
+        ++this.depth;
+        return this.running.size();
+    }
+
+    /**
+     * Is any scope open now?
+     * @return TRUE if observers may be started
+     */
+    boolean active() {
+        return this.depth > 0;
+    }
+
+    /**
+     * Take a snapshot of the document, or the one taken for the previous
+     * observer of the same document.
+     * @param xml The document, built of DOM
+     * @return The snapshot
+     */
+    Observers.Snapshot snapshot(final XML xml) {
+        final Node node = xml.inner();
+        Observers.Snapshot snap = null;
+        for (final Observers.Snapshot pnd : this.pending) {
+            if (pnd.shows(node)) {
+                snap = pnd;
+                break;
+            }
+        }
+        if (snap == null) {
+            snap = new Observers.Snapshot(xml, node, this.depth);
+            this.pending.add(snap);
+        }
+        return snap;
+    }
+
+    /**
+     * The pass moved on to the next document: let observers print
+     * all other documents of the current scope.
+     * @param next The next document
+     */
+    void moved(final XML next) {
+        Node node = null;
+        if (!(next instanceof XdmXML) && !MemoXML.unparsed(next)) {
+            node = next.inner();
+        }
+        final Iterator<Observers.Snapshot> iter = this.pending.iterator();
+        while (iter.hasNext()) {
+            final Observers.Snapshot snap = iter.next();
+            if (snap.within(this.depth) && (node == null || !snap.shows(node))) {
+                snap.release();
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * The DOM is going to be modified in place: print it now, if
+     * any observer is waiting for it.
+     * @param node The DOM
+     */
+    void editing(final Node node) {
+        final Iterator<Observers.Snapshot> iter = this.pending.iterator();
+        while (iter.hasNext()) {
+            final Observers.Snapshot snap = iter.next();
+            if (snap.shows(node)) {
+                snap.take();
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * Add a running observer to the current scope.
+     * @param future The observer
+     */
+    void add(final Future<?> future) {
+        this.running.add(future);
+    }
+
+    /**
+     * Close the scope.
+     * @param mark The mark, returned by {@link #open()}
+     * @param wait Wait for observers and raise their failures (TRUE),
+     *  or cancel them (FALSE)
+     */
+    void close(final int mark, final boolean wait) {
+        final Iterator<Observers.Snapshot> iter = this.pending.iterator();
+        while (iter.hasNext()) {
+            final Observers.Snapshot snap = iter.next();
+            if (snap.within(this.depth)) {
+                snap.release();
+                iter.remove();
+            }
+        }
+        --this.depth;
+        if (this.running.size() > mark) {
+            final List<Future<?>> tail =
+                this.running.subList(mark, this.running.size());
+            final List<Future<?>> futures = new ArrayList<>(tail);
+            tail.clear();
+            if (wait) {
+                Observers.join(futures);
+            } else {
+                for (final Future<?> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for all observers and raise their failures.
+     * @param futures The observers
+     */
+    private static void join(final List<Future<?>> futures) {
+        final Collection<Throwable> failures = new ArrayList<>(0);
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException ex) {
+                for (final Future<?> rest : futures) {
+                    rest.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                    "Interrupted while waiting for observers", ex
+                );
+            } catch (final ExecutionException ex) {
+                failures.add(ex.getCause());
+            }
+        }
+        if (!failures.isEmpty()) {
+            final Collection<String> msgs = new ArrayList<>(failures.size());
+            for (final Throwable failure : failures) {
+                msgs.add(failure.getMessage());
+            }
+            final IllegalStateException error = new IllegalStateException(
+                String.format(
+                    "%d out of %d observer(s) failed: %s",
+                    failures.size(), futures.size(), String.join("; ", msgs)
+                )
+            );
+            for (final Throwable failure : failures) {
+                error.addSuppressed(failure);
+            }
+            throw error;
+        }
+    }
+
+    /**
+     * Snapshot of a document, which observers may read in their threads.
+     *
+     * <p>The document is printed only once, either in the thread of the
+     * first observer, after the pass let it go, or in the thread of the
+     * pass, before it modifies the document in place.</p>
+     *
+     * <p>The class is thread-safe.</p>
+     *
+     * @since 0.23.0
+     */
+    static final class Snapshot {
+
+        /**
+         * The DOM.
+         */
+        private final Node node;
+
+        /**
+         * The scope it was taken in.
+         */
+        private final int level;
+
+        /**
+         * The text, printed once.
+         */
+        private final Sticky<String> text;
+
+        /**
+         * Opens when the pass doesn't read the document anymore.
+         */
+        private final CountDownLatch free;
+
+        /**
+         * Ctor.
+         * @param xml The document
+         * @param dom Its DOM
+         * @param scope The scope
+         */
+        Snapshot(final XML xml, final Node dom, final int scope) {
+            this.node = dom;
+            this.level = scope;
+            this.text = new Sticky<>(xml::toString);
+            this.free = new CountDownLatch(1);
+        }
+
+        /**
+         * Make a new document, waiting for the pass to let it go.
+         *
+         * <p>It must be called in the thread of the observer.</p>
+         *
+         * @return The document, which nobody else reads
+         */
+        XML copy() {
+            try {
+                this.free.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                    "Interrupted while waiting for the document", ex
+                );
+            }
+            synchronized (this.text) {
+                return new MemoXML(this.text.get());
+            }
+        }
+
+        /**
+         * Is it a snapshot of this DOM?
+         * @param dom The DOM
+         * @return TRUE if it is
+         */
+        boolean shows(final Node dom) {
+            return this.node.isSameNode(dom);
+        }
+
+        /**
+         * Was it taken in this scope or in a nested one?
+         * @param scope The scope
+         * @return TRUE if it was
+         */
+        boolean within(final int scope) {
+            return this.level >= scope;
+        }
+
+        /**
+         * Let observers print the document.
+         */
+        void release() {
+            this.free.countDown();
+        }
+
+        /**
+         * Print the document now and let observers read the text.
+         */
+        void take() {
+            synchronized (this.text) {
+                this.text.get();
+            }
+            this.release();
+        }
+    }
+}
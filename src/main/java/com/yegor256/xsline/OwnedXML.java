@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.xml.namespace.NamespaceContext;
+import org.w3c.dom.Node;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.SAXParseException;
+
+/**
+ * XML document, which is owned by the pass and may be modified in place.
+ *
+ * <p>{@link Xsline}, when it owns intermediate documents, wraps
+ * outputs of shifts into this class. {@link StInPlace} modifies such
+ * documents without copying them. Nothing is remembered here, since the
+ * DOM may change at any moment. For the same reason, the document is
+ * taken as a plain DOM: if it is a {@link MemoXML}, its texts and
+ * results of XPath queries are not used anymore, since they
+ * would be stale after the first change.</p>
+ *
+ * <p>Those who modify the DOM in place get it through {@link #edit()},
+ * which counts such modifications, see {@link #edits()}. Thus,
+ * {@link StLogged} knows whether a shift changed the document,
+ * without comparing its content before and after.</p>
+ *
+ * @since 0.23.0
+ * @checkstyle AbbreviationAsWordInNameCheck (5 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class OwnedXML implements XML {
+
+    /**
+     * The document, as a plain DOM.
+     */
+    private final Supplier<XML> origin;
+
+    /**
+     * How many times the DOM was given out to be modified.
+     */
+    private final AtomicLong count;
+
+    /**
+     * Ctor.
+     * @param xml The document, which nobody else holds
+     */
+    OwnedXML(final XML xml) {
+        this.origin = new Sticky<>(() -> new XMLDocument(xml.inner()));
+        this.count = new AtomicLong();
+    }
+
+    @Override
+    public List<String> xpath(final String query) {
+        return this.origin.get().xpath(query);
+    }
+
+    @Override
+    public List<XML> nodes(final String query) {
+        return this.origin.get().nodes(query);
+    }
+
+    @Override
+    public XML registerNs(final String prefix, final Object uri) {
+        return this.origin.get().registerNs(prefix, uri);
+    }
+
+    @Override
+    public XML merge(final NamespaceContext context) {
+        return this.origin.get().merge(context);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public Node node() {
+        return this.origin.get().node();
+    }
+
+    @Override
+    public Node inner() {
+        return this.origin.get().inner();
+    }
+
+    @Override
+    public Node deepCopy() {
+        return this.origin.get().deepCopy();
+    }
+
+    @Override
+    public Collection<SAXParseException> validate(final LSResourceResolver resolver) {
+        return this.origin.get().validate(resolver);
+    }
+
+    @Override
+    public Collection<SAXParseException> validate(final XML xsd) {
+        return this.origin.get().validate(xsd);
+    }
+
+    @Override
+    public String toString() {
+        return this.origin.get().toString();
+    }
+
+    /**
+     * Get the DOM in order to modify it in place.
+     *
+     * <p>Observers of {@link StAsync}, which are waiting for this
+     * document, get its snapshot before it is modified.</p>
+     *
+     * @return The DOM
+     */
+    Node edit() {
+        this.count.incrementAndGet();
+        final Node node = this.inner();
+        Observers.mine().editing(node);
+        return node;
+    }
+
+    /**
+     * How many times the DOM was given out to be modified in place.
+     * @param xml The document
+     * @return Total, zero if the document is not owned
+     */
+    static long edits(final XML xml) {
+        final long edits;
+        if (xml instanceof OwnedXML) {
+            edits = ((OwnedXML) xml).count.get();
+        } else {
+            edits = 0L;
+        }
+        return edits;
+    }
+
+    /**
+     * Give the output of a shift to the pass, if it's a new document.
+     *
+     * <p>If the shift returns its input, the ownership doesn't change.
+     * Saxon trees are immutable, they are never owned.</p>
+     *
+     * @param input The input of the shift
+     * @param output The output of the shift
+     * @return The output, owned if possible
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    static XML take(final XML input, final XML output) {
+        XML out = output;
+        if (out != input && !(out instanceof OwnedXML) && !(out instanceof XdmXML)) {
+            out = new OwnedXML(out);
+        }
+        return out;
+    }
+
+    /**
+     * Take the document from the pass, so that nobody modifies it anymore.
+     * @param xml The document
+     * @return The same document, if it's not owned, or its DOM, not copied
+     */
+    static XML release(final XML xml) {
+        final XML free;
+        if (xml instanceof OwnedXML) {
+            free = new XMLDocument(xml.inner());
+        } else {
+            free = xml;
+        }
+        return free;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The output of {@link Xsline#passWithReport(XML)}, together with
+ * what happened during the pass.
+ *
+ * <p>For each shift of the train, there is a {@link PassReport.Step}:
+ * its UID, how long it took, in nanoseconds, and how many nodes were in
+ * its input and output documents. Sizes are counted outside of time
+ * measurements, but they are included into the total time of the
+ * pass.</p>
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+public final class PassReport {
+
+    /**
+     * The output.
+     */
+    private final XML xml;
+
+    /**
+     * The steps.
+     */
+    private final List<PassReport.Step> list;
+
+    /**
+     * Total time of the pass, in nanoseconds.
+     */
+    private final long total;
+
+    /**
+     * Ctor.
+     * @param out The output
+     * @param steps The steps
+     * @param nanos Total time of the pass, in nanoseconds
+     */
+    PassReport(final XML out, final List<PassReport.Step> steps, final long nanos) {
+        this.xml = out;
+        this.list = Collections.unmodifiableList(new ArrayList<>(steps));
+        this.total = nanos;
+    }
+
+    /**
+     * The output document.
+     * @return The document
+     */
+    public XML output() {
+        return this.xml;
+    }
+
+    /**
+     * All steps, in the order of shifts.
+     * @return The steps
+     */
+    public List<PassReport.Step> steps() {
+        return this.list;
+    }
+
+    /**
+     * Total time of the pass.
+     * @return Nanoseconds
+     */
+    public long nanos() {
+        return this.total;
+    }
+
+    @Override
+    public String toString() {
+        final Collection<String> lines = new ArrayList<>(this.list.size() + 1);
+        lines.add(
+            String.format(
+                "%d shift(s) in %d ns", this.list.size(), this.total
+            )
+        );
+        for (final PassReport.Step step : this.list) {
+            lines.add(step.toString());
+        }
+        return String.join("\n", lines);
+    }
+
+    /**
+     * One shift of the pass.
+     *
+     * @since 0.23.0
+     */
+    public static final class Step {
+
+        /**
+         * The UID of the shift.
+         */
+        private final String name;
+
+        /**
+         * Time, in nanoseconds.
+         */
+        private final long time;
+
+        /**
+         * Nodes in the input.
+         */
+        private final long input;
+
+        /**
+         * Nodes in the output.
+         */
+        private final long output;
+
+        /**
+         * Ctor.
+         * @param uid The UID of the shift
+         * @param nanos Time, in nanoseconds
+         * @param before Nodes in the input
+         * @param after Nodes in the output
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        Step(final String uid, final long nanos, final long before,
+            final long after) {
+            this.name = uid;
+            this.time = nanos;
+            this.input = before;
+            this.output = after;
+        }
+
+        /**
+         * The UID of the shift.
+         * @return The UID
+         */
+        public String uid() {
+            return this.name;
+        }
+
+        /**
+         * How long the shift took.
+         * @return Nanoseconds
+         */
+        public long nanos() {
+            return this.time;
+        }
+
+        /**
+         * Size of the input document.
+         * @return Number of nodes
+         */
+        public long before() {
+            return this.input;
+        }
+
+        /**
+         * Size of the output document.
+         * @return Number of nodes
+         */
+        public long after() {
+            return this.output;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%s: %d -> %d node(s) in %d ns",
+                this.name, this.input, this.output, this.time
+            );
+        }
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of documents produced by shifts.
+ *
+ * <p>Each {@link StCached} and {@link TrCached} has its own cache, unless
+ * a cache is given to its constructor, which may be shared by a few of
+ * them. There is no cache shared by the entire JVM, since a shift which
+ * is identified wrongly would give wrong documents to everybody.
+ * A document is found in the cache by
+ * the {@link Signature} of the shift, the position of the shift in the
+ * train, and the SHA-256 {@link Fingerprint} of the input document. This
+ * is why the same input, given to the same shift again, costs a hash
+ * and a lookup, instead of a transformation. If the input is a
+ * {@link MemoXML} or a document made by {@link TrSaxon}, its
+ * fingerprint is calculated only once.</p>
+ *
+ * <p>DOM documents are mutable and are not thread-safe even for reading,
+ * that's why the cache doesn't keep them. Instead, it keeps their texts,
+ * printed once, when they are stored, and gives out new {@link MemoXML}
+ * documents made of them, which are parsed only if somebody needs their
+ * DOM, and know their fingerprints. Documents made by {@link TrSaxon}
+ * are immutable and are kept as they are.</p>
+ *
+ * <p>The cache is bounded by the number of documents and by their total
+ * size, in DOM nodes. When any of the limits is exceeded, least recently
+ * used documents are forgotten. Documents may also be kept by soft
+ * references, letting the garbage collector forget them when memory is
+ * low. The cache counts its hits, misses, and evictions, which you may
+ * want to report somewhere.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+public final class ShiftCache {
+
+    /**
+     * Documents, by keys.
+     */
+    private final Lru<String, ShiftCache.Entry> lru;
+
+    /**
+     * Keep documents by soft references?
+     */
+    private final boolean soft;
+
+    /**
+     * Hits.
+     */
+    private final AtomicLong found;
+
+    /**
+     * Misses.
+     */
+    private final AtomicLong missed;
+
+    /**
+     * Documents forgotten by the garbage collector.
+     */
+    private final AtomicLong collected;
+
+    /**
+     * Ctor.
+     *
+     * <p>Up to 1024 documents are kept, with no more than 16 million
+     * nodes in total, by soft references.</p>
+     */
+    public ShiftCache() {
+        this(1024, 16_000_000L, true);
+    }
+
+    /**
+     * Ctor.
+     * @param entries Max number of documents to keep
+     */
+    public ShiftCache(final int entries) {
+        this(entries, Long.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     * @param entries Max number of documents to keep
+     * @param nodes Max total number of DOM nodes in all documents
+     */
+    public ShiftCache(final int entries, final long nodes) {
+        this(entries, nodes, false);
+    }
+
+    /**
+     * Ctor.
+     * @param entries Max number of documents to keep
+     * @param nodes Max total number of DOM nodes in all documents
+     * @param sft Keep documents by soft references
+     */
+    public ShiftCache(final int entries, final long nodes, final boolean sft) {
+        this.lru = new Lru<>(entries, nodes, (key, entry) -> entry.weight());
+        this.soft = sft;
+        this.found = new AtomicLong();
+        this.missed = new AtomicLong();
+        this.collected = new AtomicLong();
+    }
+
+    /**
+     * How many times documents were found in the cache.
+     * @return Total number of hits
+     */
+    public long hits() {
+        return this.found.get();
+    }
+
+    /**
+     * How many times shifts had to be applied.
+     * @return Total number of misses
+     */
+    public long misses() {
+        return this.missed.get();
+    }
+
+    /**
+     * How many documents were forgotten, either because of limits or
+     * by the garbage collector.
+     * @return Total number of evictions
+     */
+    public long evictions() {
+        return this.lru.evictions() + this.collected.get();
+    }
+
+    /**
+     * How many documents are in the cache now.
+     * @return Number of documents
+     */
+    public int size() {
+        return this.lru.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d document(s) of %d node(s), %d hit(s), %d miss(es), %d eviction(s)",
+            this.lru.size(), this.lru.weight(), this.hits(),
+            this.misses(), this.evictions()
+        );
+    }
+
+    /**
+     * Get the output of the shift from the cache, or apply the shift.
+     * @param sig The signature of the shift
+     * @param shift The shift
+     * @param position The position of the shift
+     * @param xml The input
+     * @return The output
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    XML apply(final Signature sig, final Shift shift, final int position,
+        final XML xml) {
+        final String key = String.format(
+            "%s/%d/%s", sig, position, Fingerprint.sha(xml)
+        );
+        XML out = this.get(key);
+        if (out == null) {
+            out = shift.apply(position, xml);
+            this.keep(key, out);
+        }
+        return out;
+    }
+
+    /**
+     * Get the document from the cache.
+     * @param key The key
+     * @return The document or NULL, if it's absent
+     */
+    XML get(final String key) {
+        final ShiftCache.Entry entry = this.lru.get(key);
+        XML out = null;
+        if (entry != null) {
+            out = entry.xml();
+            if (out == null) {
+                this.lru.remove(key);
+                this.collected.incrementAndGet();
+            }
+        }
+        if (out == null) {
+            this.missed.incrementAndGet();
+        } else {
+            this.found.incrementAndGet();
+        }
+        return out;
+    }
+
+    /**
+     * Remember the document, unless another one is already there.
+     * @param key The key
+     * @param xml The document
+     */
+    void keep(final String key, final XML xml) {
+        this.lru.put(key, ShiftCache.Entry.make(xml, this.soft));
+    }
+
+    /**
+     * A document in the cache.
+     *
+     * @since 0.23.0
+     */
+    private static final class Entry {
+
+        /**
+         * The document, which is never modified.
+         */
+        private final Supplier<XML> ref;
+
+        /**
+         * Number of nodes in it.
+         */
+        private final long nodes;
+
+        /**
+         * Ctor.
+         * @param sup The reference to the document
+         * @param weight Number of nodes in it
+         */
+        Entry(final Supplier<XML> sup, final long weight) {
+            this.ref = sup;
+            this.nodes = weight;
+        }
+
+        /**
+         * Make an entry.
+         * @param xml The document
+         * @param soft Keep it by a soft reference
+         * @return The entry
+         */
+        static ShiftCache.Entry make(final XML xml, final boolean soft) {
+            final XML frozen;
+            if (xml instanceof XdmXML) {
+                frozen = xml;
+            } else {
+                frozen = new MemoXML(xml.toString(), Fingerprint.sha(xml));
+            }
+            final Supplier<XML> sup;
+            if (soft) {
+                final SoftReference<XML> sref = new SoftReference<>(frozen);
+                sup = sref::get;
+            } else {
+                sup = () -> frozen;
+            }
+            return new ShiftCache.Entry(sup, new Nodes(xml).count());
+        }
+
+        /**
+         * Its weight.
+         * @return Number of nodes
+         */
+        long weight() {
+            return this.nodes;
+        }
+
+        /**
+         * A new document, made of the one in the cache.
+         *
+         * <p>The document in the cache is never parsed, since only its text
+         * and its fingerprint are used. The new document doesn't share
+         * its DOM with anybody.</p>
+         *
+         * @return The document or NULL, if it was forgotten
+         */
+        XML xml() {
+            final XML xml = this.ref.get();
+            XML view = null;
+            if (xml instanceof XdmXML) {
+                view = ((XdmXML) xml).detached();
+            } else if (xml != null) {
+                final MemoXML memo = (MemoXML) xml;
+                view = new MemoXML(memo.toString(), memo.fingerprint());
+            }
+            return view;
+        }
+    }
+}
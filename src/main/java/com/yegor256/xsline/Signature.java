@@ -0,0 +1,292 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XSL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.xml.transform.TransformerFactory;
+
+/**
+ * Stable identity of a {@link Shift}, a SHA-256 hash of its content.
+ *
+ * <p>The UID of a shift is not enough to identify it, since two
+ * stylesheets may have the same {@code @id}, and the same stylesheet
+ * may be used with different parameters. That's why only shifts which
+ * may be identified by their content have signatures: stylesheets, like
+ * {@link StXSL} or {@link StClasspath}, with {@link XSLTemplates} inside,
+ * are identified by their texts, system IDs, parameters, the content of
+ * all stylesheets they include or import, and the name and version of
+ * the XSLT processor. The hash of the stylesheet with its includes is
+ * found only once for the same content, see {@link XSLTemplates#content()}.
+ * Thus, a signature stays the same in another
+ * process only if the output may not be different. Decorators
+ * that don't change the output of their shifts, like {@link StLogged},
+ * {@link StFast}, or {@link StEnvelope}, are identified by the shifts
+ * they decorate. Stylesheets joined by {@link TrStreamed} are identified
+ * by all of them together.</p>
+ *
+ * <p>All other shifts, for example {@link StLambda}, {@link StEndless},
+ * or stylesheets with other implementations of
+ * {@link com.jcabi.xml.XSL} inside, whose parameters are not visible,
+ * stylesheets that include something that can't be read,
+ * and stylesheets that read other documents, by {@code document()}
+ * or {@code unparsed-text()}, are not known: see {@link #known()}. Their outputs must not be cached
+ * or stored anywhere.</p>
+ *
+ * <p>The hash is calculated only once, when it is requested for the first
+ * time. The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class Signature {
+
+    /**
+     * The XSLT processor, which compiles stylesheets, with its version.
+     */
+    private static final Sticky<String> ENGINE = new Sticky<>(
+        () -> {
+            final Class<?> type = TransformerFactory.newInstance().getClass();
+            return String.format(
+                "%s %s", type.getName(), type.getPackage().getImplementationVersion()
+            );
+        }
+    );
+
+    /**
+     * The hash, in hex, empty if the shift is not known.
+     */
+    private final Sticky<String> text;
+
+    /**
+     * Ctor.
+     * @param shift The shift
+     */
+    Signature(final Shift shift) {
+        this.text = new Sticky<>(() -> Signature.digest(shift));
+    }
+
+    @Override
+    public String toString() {
+        if (!this.known()) {
+            throw new IllegalStateException(
+                "The shift can't be identified by its content"
+            );
+        }
+        return this.text.get();
+    }
+
+    /**
+     * Is the shift identified by its content?
+     * @return TRUE if it has a signature
+     */
+    boolean known() {
+        return !this.text.get().isEmpty();
+    }
+
+    /**
+     * SHA-256 hash of a few texts.
+     * @param parts The texts
+     * @return The hash, in hex
+     */
+    static String sha(final String... parts) {
+        final MessageDigest digest = Signature.fresh();
+        for (final String part : parts) {
+            Signature.update(digest, part);
+        }
+        return Signature.hex(digest);
+    }
+
+    /**
+     * The shift inside a decorator, which doesn't change its output.
+     * @param shift The shift
+     * @return The decorated shift, or the same one if it's not a decorator
+     */
+    static Shift decorated(final Shift shift) {
+        final Shift inner;
+        if (shift instanceof StEnvelope) {
+            inner = ((StEnvelope) shift).decorated();
+        } else if (shift instanceof StLogged) {
+            inner = ((StLogged) shift).decorated();
+        } else if (shift instanceof StFast) {
+            inner = ((StFast) shift).decorated();
+        } else if (shift instanceof StCached) {
+            inner = ((StCached) shift).decorated();
+        } else if (shift instanceof StMeasured) {
+            inner = ((StMeasured) shift).decorated();
+        } else if (shift instanceof StSaxon) {
+            inner = ((StSaxon) shift).decorated();
+        } else if (shift instanceof TrFrozen.Placed) {
+            inner = ((TrFrozen.Placed) shift).decorated();
+        } else {
+            inner = shift;
+        }
+        return inner;
+    }
+
+    /**
+     * Calculate the hash.
+     * @param shift The shift
+     * @return The hash, in hex, or empty if the shift is not known
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private static String digest(final Shift shift) {
+        final String hash;
+        if (shift instanceof Stylesheet) {
+            hash = Signature.sheet((Stylesheet) shift);
+        } else if (shift instanceof StStreamed) {
+            hash = Signature.joined(((StStreamed) shift).joined());
+        } else if (shift instanceof TrStreamed.Slot) {
+            hash = Signature.slot(((TrStreamed.Slot) shift).original());
+        } else {
+            final Shift inner = Signature.decorated(shift);
+            if (inner == shift) {
+                hash = "";
+            } else {
+                hash = Signature.digest(inner);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Calculate the hash of a stylesheet.
+     * @param shift The stylesheet
+     * @return The hash, in hex, or empty if it's not known
+     */
+    private static String sheet(final Stylesheet shift) {
+        String hash = "";
+        final XSL xsl = shift.xsl();
+        if (xsl instanceof XSLTemplates) {
+            final XSLTemplates tpls = (XSLTemplates) xsl;
+            final String content = tpls.content();
+            if (!content.isEmpty()) {
+                final MessageDigest digest = Signature.fresh();
+                Signature.update(digest, Signature.ENGINE.get());
+                Signature.update(digest, shift.uid());
+                Signature.update(digest, content);
+                final List<String> params = tpls.parts(
+                    (txt, sid, srcs, map) -> Signature.params(map)
+                );
+                for (final String param : params) {
+                    Signature.update(digest, param);
+                }
+                hash = Signature.hex(digest);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Calculate the hash of a position taken by a joined stylesheet.
+     * @param sheet The stylesheet
+     * @return The hash, in hex, or empty if the stylesheet is not known
+     */
+    private static String slot(final Shift sheet) {
+        String hash = Signature.digest(sheet);
+        if (!hash.isEmpty()) {
+            hash = Signature.sha("slot", hash);
+        }
+        return hash;
+    }
+
+    /**
+     * Calculate the hash of a few stylesheets joined together.
+     * @param sheets The stylesheets
+     * @return The hash, in hex, or empty if any of them is not known
+     */
+    private static String joined(final Iterable<? extends Shift> sheets) {
+        final MessageDigest digest = Signature.fresh();
+        Signature.update(digest, "+");
+        String hash = "";
+        for (final Shift sheet : sheets) {
+            hash = Signature.digest(sheet);
+            if (hash.isEmpty()) {
+                break;
+            }
+            Signature.update(digest, hash);
+        }
+        if (!hash.isEmpty()) {
+            hash = Signature.hex(digest);
+        }
+        return hash;
+    }
+
+    /**
+     * All parameters, in a stable order.
+     * @param params The parameters
+     * @return Parameters, each as "name=value"
+     */
+    private static List<String> params(final Map<String, Object> params) {
+        final List<String> list = new ArrayList<>(params.size());
+        for (final Map.Entry<String, Object> ent : params.entrySet()) {
+            list.add(String.format("%s=%s", ent.getKey(), ent.getValue()));
+        }
+        Collections.sort(list);
+        return list;
+    }
+
+    /**
+     * Make a new SHA-256 digest.
+     * @return The digest
+     */
+    private static MessageDigest fresh() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Finish the digest.
+     * @param digest The digest
+     * @return The hash, in hex
+     */
+    private static String hex(final MessageDigest digest) {
+        final StringBuilder hex = new StringBuilder(64);
+        for (final byte bte : digest.digest()) {
+            hex.append(String.format("%02x", bte));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Add text to the hash.
+     * @param digest The digest
+     * @param text The text, may be NULL
+     */
+    private static void update(final MessageDigest digest, final String text) {
+        if (text != null) {
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+}
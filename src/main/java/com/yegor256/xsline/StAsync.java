@@ -0,0 +1,198 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+/**
+ * A read-only {@link Shift}, which observes the document in background.
+ *
+ * <p>Validators, like {@link StSchema}, and collectors of statistics
+ * don't change documents, they only look at them. It's not necessary
+ * to wait for them, while the next shift may already be working. This
+ * decorator submits the encapsulated shift to an executor and returns
+ * the document right away, without any changes. What the encapsulated
+ * shift returns is ignored:</p>
+ *
+ * <pre> new Xsline(
+ *   new TrAfter(train, new StAsync(new StSchema("/foo.xsd")))
+ * ).pass(input);</pre>
+ *
+ * <p>{@link Xsline#pass(XML)} waits for all observers started during
+ * the pass, before returning the result. If any of them failed,
+ * it throws an exception, which explains all failures. If the pass
+ * itself fails, the observers still running are cancelled. Outside
+ * of {@link Xsline#pass(XML)}, the shift is applied synchronously.</p>
+ *
+ * <p>Nothing is printed or copied in the thread of the pass. If the
+ * document is a {@link MemoXML}, which knows its text, each observer
+ * gets a new {@link MemoXML} made of this text. Documents made by
+ * {@link TrSaxon} are immutable trees: each observer gets the same
+ * tree, but makes its own DOM out of it, if it needs one. Other
+ * documents are built of DOM, which is not thread-safe even for
+ * reading, while the pass is still reading it. That's why observers of
+ * such a document wait until the next shift returns another document,
+ * and then the first of them prints it, in its own thread. If the pass
+ * is going to modify the document in place, as {@link StInPlace} does,
+ * it is printed right before that, in the thread of the pass.</p>
+ *
+ * <p>Since the pass has to look for observers, {@link Xsline} does it
+ * only when the train has this shift inside, maybe decorated by
+ * {@link StLogged}, {@link StCached}, and the like, or put into
+ * {@link StSequence} or {@link StCheckpointed}. If it's hidden inside
+ * other shifts, for example {@link StLambda}, it's applied
+ * synchronously.</p>
+ *
+ * <p>The class is thread-safe, if the encapsulated shift is.</p>
+ *
+ * @since 0.23.0
+ */
+public final class StAsync implements Shift {
+
+    /**
+     * The observer.
+     */
+    private final Shift origin;
+
+    /**
+     * The executor.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Ctor.
+     * @param shift The observer
+     */
+    public StAsync(final Shift shift) {
+        this(shift, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Ctor.
+     * @param shift The observer
+     * @param exec The executor, it is not shut down here
+     */
+    public StAsync(final Shift shift, final ExecutorService exec) {
+        this.origin = shift;
+        this.executor = exec;
+    }
+
+    @Override
+    public String uid() {
+        return this.origin.uid();
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public XML apply(final int position, final XML xml) {
+        final Observers observers = Observers.mine();
+        if (observers.active()) {
+            final Supplier<XML> copy = StAsync.shareable(xml, observers);
+            observers.add(
+                this.executor.submit(
+                    () -> {
+                        try {
+                            return this.origin.apply(position, copy.get());
+                        // @checkstyle IllegalCatchCheck (1 line)
+                        } catch (final RuntimeException ex) {
+                            throw new IllegalStateException(
+                                String.format(
+                                    "Observer '%s' at position #%d failed: %s",
+                                    this.uid(), position, ex.getMessage()
+                                ),
+                                ex
+                            );
+                        }
+                    }
+                )
+            );
+        } else {
+            this.origin.apply(position, xml);
+        }
+        return xml;
+    }
+
+    /**
+     * Is there any observer inside the shift?
+     *
+     * <p>Only decorators and sequences known to this library are looked
+     * into.</p>
+     *
+     * @param shift The shift
+     * @return TRUE if there is at least one {@link StAsync}
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    static boolean within(final Shift shift) {
+        boolean found = shift instanceof StAsync;
+        if (!found && shift instanceof StSequence) {
+            found = StAsync.within(((StSequence) shift).all());
+        } else if (!found && shift instanceof StCheckpointed) {
+            found = StAsync.within(((StCheckpointed) shift).train());
+        } else if (!found) {
+            final Shift inner = Signature.decorated(shift);
+            found = inner != shift && StAsync.within(inner);
+        }
+        return found;
+    }
+
+    /**
+     * Is there any observer inside any of the shifts?
+     * @param shifts The shifts
+     * @return TRUE if there is at least one {@link StAsync}
+     */
+    static boolean within(final Iterable<Shift> shifts) {
+        boolean found = false;
+        for (final Shift shift : shifts) {
+            found = StAsync.within(shift);
+            if (found) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Make a document, which may be read in another thread.
+     * @param xml The document
+     * @param observers Observers of the current pass
+     * @return Maker of a document for one observer, to be called
+     *  in its thread
+     */
+    private static Supplier<XML> shareable(final XML xml,
+        final Observers observers) {
+        final Supplier<XML> safe;
+        final String text = MemoXML.printed(xml);
+        if (xml instanceof XdmXML) {
+            safe = ((XdmXML) xml)::detached;
+        } else if (text == null) {
+            safe = observers.snapshot(xml)::copy;
+        } else {
+            safe = () -> new MemoXML(text);
+        }
+        return safe;
+    }
+}
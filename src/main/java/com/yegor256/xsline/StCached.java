@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+
+/**
+ * A {@link Shift} that remembers its outputs.
+ *
+ * <p>If the same document comes to the shift again, for example because
+ * a source was regenerated without changes or a job was retried, the
+ * output is taken from {@link ShiftCache}, instead of being calculated
+ * again. Documents are compared by their SHA-256 fingerprints, and shifts
+ * by their {@link Signature}s, which include the texts and parameters of
+ * stylesheets:</p>
+ *
+ * <pre> new Xsline(
+ *   new StCached(new StClasspath("/heavy.xsl"))
+ * ).pass(input);</pre>
+ *
+ * <p>Only stylesheets with {@link XSLTemplates} inside, as in
+ * {@link StClasspath}, maybe decorated by {@link StLogged}, {@link StFast}
+ * or {@link StEnvelope}, are cached. All other shifts, like
+ * {@link StLambda}, can't be identified by their content and are
+ * applied every time, as if they were not cached. Stylesheets that read
+ * other documents, by {@code document()}, {@code unparsed-text()},
+ * and the like, are not cached either, since their outputs depend not
+ * only on their inputs.</p>
+ *
+ * <p>If no cache is given to the constructor, the shift has its own one,
+ * which is not shared with anybody.</p>
+ *
+ * <p>The class is thread-safe, if the encapsulated shift is.</p>
+ *
+ * @since 0.23.0
+ */
+public final class StCached implements Shift {
+
+    /**
+     * The original shift.
+     */
+    private final Shift origin;
+
+    /**
+     * The signature of the shift.
+     */
+    private final Signature signature;
+
+    /**
+     * The cache.
+     */
+    private final ShiftCache cache;
+
+    /**
+     * Ctor.
+     * @param shift The shift
+     */
+    public StCached(final Shift shift) {
+        this(shift, new ShiftCache());
+    }
+
+    /**
+     * Ctor.
+     * @param shift The shift
+     * @param cch The cache
+     */
+    public StCached(final Shift shift, final ShiftCache cch) {
+        this.origin = shift;
+        this.signature = new Signature(shift);
+        this.cache = cch;
+    }
+
+    @Override
+    public String uid() {
+        return this.origin.uid();
+    }
+
+    @Override
+    public XML apply(final int position, final XML xml) {
+        final XML out;
+        if (this.signature.known()) {
+            out = this.cache.apply(this.signature, this.origin, position, xml);
+        } else {
+            out = this.origin.apply(position, xml);
+        }
+        return out;
+    }
+
+    /**
+     * The decorated shift.
+     * @return The shift
+     */
+    Shift decorated() {
+        return this.origin;
+    }
+}
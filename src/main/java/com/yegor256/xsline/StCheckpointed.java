@@ -0,0 +1,229 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.log.Logger;
+import com.jcabi.xml.XML;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A train of shifts, which saves intermediate documents and resumes
+ * from them.
+ *
+ * <p>After every shift, the document is saved into {@link Checkpoints},
+ * under the key, which is the hash of the input document together with
+ * the {@link Signature}s and positions of all shifts applied so far (the
+ * prefix of the train). Shifts are applied at their positions in the
+ * entire pass: the first of them gets the position of this shift. When
+ * the same document comes again, the longest prefix of the train, which
+ * didn't change since the last time, is not applied again: the pass
+ * continues from the document saved after it. This is very helpful when
+ * a long train is being developed and only its last stylesheets are
+ * changed between runs:</p>
+ *
+ * <pre> new Xsline(
+ *   new StCheckpointed(train, new CpDisk(Paths.get("target/xsline")))
+ * ).pass(input);</pre>
+ *
+ * <p>It is also possible to save only outputs of the entire train,
+ * in order to skip all shifts, if the document was seen already, even by
+ * another process, which used the same directory. Stylesheets are not
+ * even compiled in this case, since their {@link Signature}s are
+ * calculated from their texts and parameters:</p>
+ *
+ * <pre> new Xsline(train, Paths.get("/tmp/xsline"), 1L &lt;&lt; 30).pass(input);</pre>
+ *
+ * <p>Only shifts, which may be identified by their content, are
+ * remembered: stylesheets, like {@link StXSL} or {@link StClasspath},
+ * with {@link XSLTemplates} inside, maybe decorated by {@link StLogged},
+ * {@link StFast} or {@link StEnvelope}, see {@link Signature}. Documents
+ * are saved only after such shifts, as long as no other shift, like
+ * {@link StLambda}, was met in the train. All shifts after it are
+ * applied every time.</p>
+ *
+ * <p>The class is thread-safe, if the shifts and the checkpoints are.</p>
+ *
+ * @since 0.23.0
+ */
+public final class StCheckpointed implements Shift {
+
+    /**
+     * The shifts.
+     */
+    private final Iterable<Shift> shifts;
+
+    /**
+     * The checkpoints.
+     */
+    private final Checkpoints checkpoints;
+
+    /**
+     * Save documents after every shift (TRUE) or only after the last one.
+     */
+    private final boolean prefixes;
+
+    /**
+     * The UID.
+     */
+    private final Supplier<String> name;
+
+    /**
+     * Ctor.
+     * @param train The shifts
+     * @param cps The checkpoints
+     */
+    public StCheckpointed(final Iterable<Shift> train, final Checkpoints cps) {
+        this(train, cps, true);
+    }
+
+    /**
+     * Ctor.
+     * @param train The shifts
+     * @param cps The checkpoints
+     * @param every Save documents after every shift (TRUE) or only
+     *  the output of the entire train (FALSE)
+     */
+    public StCheckpointed(final Iterable<Shift> train, final Checkpoints cps,
+        final boolean every) {
+        this.shifts = train;
+        this.checkpoints = cps;
+        this.prefixes = every;
+        this.name = new Sticky<>(
+            () -> {
+                final Collection<String> uids = new ArrayList<>(0);
+                for (final Shift shift : train) {
+                    uids.add(shift.uid());
+                }
+                return String.join("+", uids);
+            }
+        );
+    }
+
+    @Override
+    public String uid() {
+        return this.name.get();
+    }
+
+    @Override
+    public XML apply(final int position, final XML xml) {
+        final List<Shift> list = new ArrayList<>(0);
+        for (final Shift shift : this.shifts) {
+            list.add(shift);
+        }
+        final int total = list.size();
+        final String[] keys = StCheckpointed.keys(list, position, xml);
+        final int known = keys.length - 1;
+        int start = known;
+        if (!this.prefixes && known < total) {
+            start = 0;
+        }
+        Optional<XML> saved = Optional.empty();
+        while (start > 0) {
+            saved = this.checkpoints.load(keys[start]);
+            if (saved.isPresent()) {
+                break;
+            }
+            start = this.lower(start);
+        }
+        if (saved.isPresent() && Logger.isDebugEnabled(this)) {
+            Logger.debug(
+                this, "Resumed after shift #%d out of %d, from %s",
+                start, total, this.checkpoints
+            );
+        }
+        XML output = saved.orElse(xml);
+        for (int idx = start; idx < total; ++idx) {
+            output = list.get(idx).apply(position + idx, output);
+            if (this.stored(idx, known, total)) {
+                this.checkpoints.store(keys[idx + 1], output);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * The shifts of the train.
+     * @return The shifts
+     */
+    Iterable<Shift> train() {
+        return this.shifts;
+    }
+
+    /**
+     * Keys of all prefixes of the train, which are made of known shifts.
+     * @param list The shifts
+     * @param position The position of the first shift in the pass
+     * @param xml The input
+     * @return Keys, starting from the key of the empty prefix, up to the
+     *  first shift, which is not known
+     */
+    private static String[] keys(final List<Shift> list, final int position,
+        final XML xml) {
+        final List<String> keys = new ArrayList<>(list.size() + 1);
+        keys.add(Fingerprint.sha(xml));
+        for (int idx = 0; idx < list.size(); ++idx) {
+            final Signature sig = new Signature(list.get(idx));
+            if (!sig.known()) {
+                break;
+            }
+            keys.add(
+                Signature.sha(
+                    keys.get(idx), Integer.toString(position + idx),
+                    sig.toString()
+                )
+            );
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    /**
+     * Shall the document be stored after this shift?
+     * @param idx The position of the shift in the train
+     * @param known How many shifts in the train are known
+     * @param total How many shifts are there in the train
+     * @return TRUE if it must be stored
+     */
+    private boolean stored(final int idx, final int known, final int total) {
+        return idx < known && (this.prefixes || idx + 1 == total);
+    }
+
+    /**
+     * The shorter prefix of the train to look for.
+     * @param prefix The length of the prefix just checked
+     * @return The length of the next prefix to check
+     */
+    private int lower(final int prefix) {
+        final int next;
+        if (this.prefixes) {
+            next = prefix - 1;
+        } else {
+            next = 0;
+        }
+        return next;
+    }
+}
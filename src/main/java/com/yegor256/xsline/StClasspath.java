@@ -25,7 +25,6 @@ package com.yegor256.xsline;
 
 import com.jcabi.xml.ClasspathSources;
 import com.jcabi.xml.XSL;
-import com.jcabi.xml.XSLDocument;
 import java.io.IOException;
 import java.net.URL;
 
@@ -47,10 +46,22 @@ import java.net.URL;
  * located in classpath. More details about it you can find in the
  * documentation of {@link ClasspathSources} class.</p>
  *
+ * <p>The stylesheet is an instance of {@link XSLTemplates}, which means
+ * that it is compiled only once, and may be streamed together with its
+ * neighbours by {@link TrStreamed}. Compiled stylesheets are kept in
+ * {@link TemplatesCache#SHARED}, that's why making a new {@link StClasspath}
+ * for the same path again, for example in a new {@link TrClasspath},
+ * doesn't compile it again.</p>
+ *
  * @since 0.4.0
  * @checkstyle AbbreviationAsWordInNameCheck (3 lines)
  */
-public final class StClasspath extends StEnvelope {
+public final class StClasspath extends StEnvelope implements Stylesheet {
+
+    /**
+     * The XSL.
+     */
+    private final XSL sheet;
 
     /**
      * Ctor.
@@ -61,7 +72,21 @@ public final class StClasspath extends StEnvelope {
      * @since 0.16.0
      */
     public StClasspath(final String path, final String... args) {
-        super(new StXSL(StClasspath.make(path, args)));
+        this(StClasspath.make(path, args));
+    }
+
+    /**
+     * Ctor.
+     * @param xsl The XSL
+     */
+    private StClasspath(final XSL xsl) {
+        super(new StXSL(xsl));
+        this.sheet = xsl;
+    }
+
+    @Override
+    public XSL xsl() {
+        return this.sheet;
     }
 
     /**
@@ -81,7 +106,7 @@ public final class StClasspath extends StEnvelope {
         }
         XSL xsl;
         try {
-            xsl = new XSLDocument(url, path);
+            xsl = new XSLTemplates(url, path);
         } catch (final IOException ex) {
             throw new IllegalStateException(
                 String.format("Failed to read '%s' from classpath", path),
@@ -38,9 +38,13 @@ import com.jcabi.xml.XSL;
  *
  * <pre> new StEndless(new StClasspath("test.xsl"))</pre>
  *
+ * <p>Documents are compared by their structural fingerprints, which are
+ * calculated by walking through their DOM trees, without serializing them
+ * to text. The fingerprint of each document is calculated only once.</p>
+ *
  * <p>This class will never stop, if each application of the XSL do make
  * some changes to the XML. That's why, be aware of a risk of a potential
- * totally endless cycle.</p>
+ * totally endless cycle. Use {@link StFixpoint}, if you need limits.</p>
  *
  * @since 0.4.0
  */
@@ -63,13 +67,14 @@ public final class StEndless extends StEnvelope {
             new StLambda(
                 shift::uid,
                 (position, xml) -> {
-                    XML before = xml;
-                    XML after;
+                    XML after = xml;
+                    Fingerprint before = new Fingerprint(xml);
                     boolean more;
                     do {
-                        after = shift.apply(position, before);
-                        more = !after.toString().equals(before.toString());
-                        before = after;
+                        after = shift.apply(position, after);
+                        final Fingerprint now = new Fingerprint(after);
+                        more = !now.equals(before);
+                        before = now;
                     } while (more);
                     return after;
                 }
@@ -60,4 +60,12 @@ public class StEnvelope implements Shift {
     public final XML apply(final int position, final XML xml) {
         return this.origin.apply(position, xml);
     }
+
+    /**
+     * The decorated shift.
+     * @return The shift
+     */
+    final Shift decorated() {
+        return this.origin;
+    }
 }
@@ -103,4 +103,12 @@ public final class StFast implements Shift {
         }
         return out;
     }
+
+    /**
+     * The decorated shift.
+     * @return The shift
+     */
+    Shift decorated() {
+        return this.origin;
+    }
 }
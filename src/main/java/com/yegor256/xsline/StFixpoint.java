@@ -0,0 +1,195 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.log.Logger;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XSL;
+import java.util.LinkedList;
+import java.util.function.BiConsumer;
+
+/**
+ * A {@link Shift} repeated until the document stops changing, but
+ * not forever.
+ *
+ * <p>Like {@link StEndless}, this shift applies the encapsulated one
+ * again and again, until the document stops changing (reaches its
+ * fixed point). Unlike {@link StEndless}, it remembers fingerprints
+ * of the last few documents and stops when the document is the same as
+ * one of them, that is, when the shift goes in a cycle, flipping the
+ * document between two or more states. Also, it throws an exception,
+ * when there are too many iterations or when they take too much time:</p>
+ *
+ * <pre> new StFixpoint(new StClasspath("test.xsl"), 50, 10_000L)</pre>
+ *
+ * <p>It is possible to find out how many iterations each document
+ * needed, in order to decide which stylesheets deserve optimization:</p>
+ *
+ * <pre> new StFixpoint(
+ *   new StClasspath("test.xsl"), 50, 10_000L,
+ *   (uid, total) -&gt; stats.put(uid, total)
+ * )</pre>
+ *
+ * <p>The class is thread-safe, if the shift and the reporter are.</p>
+ *
+ * @since 0.23.0
+ */
+public final class StFixpoint implements Shift {
+
+    /**
+     * How many fingerprints to remember.
+     */
+    private static final int DEPTH = 8;
+
+    /**
+     * The original shift.
+     */
+    private final Shift origin;
+
+    /**
+     * Max number of iterations.
+     */
+    private final int max;
+
+    /**
+     * Max time of all iterations, in milliseconds.
+     */
+    private final long msec;
+
+    /**
+     * Where to report the number of iterations made.
+     */
+    private final BiConsumer<String, Integer> report;
+
+    /**
+     * Ctor.
+     * @param xsl The XSL document
+     */
+    public StFixpoint(final XSL xsl) {
+        this(new StXSL(xsl));
+    }
+
+    /**
+     * Ctor.
+     * @param shift The shift
+     */
+    public StFixpoint(final Shift shift) {
+        this(shift, 100, Long.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     * @param shift The shift
+     * @param iterations Max number of iterations
+     * @param time Max time of all iterations, in milliseconds
+     */
+    public StFixpoint(final Shift shift, final int iterations,
+        final long time) {
+        this(
+            shift, iterations, time,
+            (uid, total) -> Logger.debug(
+                StFixpoint.class, "Shift '%s' made %d iteration(s)", uid, total
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param shift The shift
+     * @param iterations Max number of iterations
+     * @param time Max time of all iterations, in milliseconds
+     * @param rpt Where to report the UID of the shift and the number of
+     *  iterations made for each document
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public StFixpoint(final Shift shift, final int iterations,
+        final long time, final BiConsumer<String, Integer> rpt) {
+        this.origin = shift;
+        this.max = iterations;
+        this.msec = time;
+        this.report = rpt;
+    }
+
+    @Override
+    public String uid() {
+        return this.origin.uid();
+    }
+
+    @Override
+    public XML apply(final int position, final XML xml) {
+        final long start = System.currentTimeMillis();
+        final LinkedList<Fingerprint> history = new LinkedList<>();
+        history.addLast(new Fingerprint(xml));
+        XML output = xml;
+        int total = 0;
+        while (true) {
+            this.check(total, System.currentTimeMillis() - start);
+            output = this.origin.apply(position, output);
+            ++total;
+            final Fingerprint now = new Fingerprint(output);
+            final int seen = history.lastIndexOf(now);
+            if (seen >= 0) {
+                final int cycle = history.size() - seen;
+                if (cycle > 1) {
+                    Logger.warn(
+                        this,
+                        "Shift '%s' went in a cycle of %d states after %d iteration(s)",
+                        this.uid(), cycle, total
+                    );
+                }
+                break;
+            }
+            history.addLast(now);
+            if (history.size() > StFixpoint.DEPTH) {
+                history.removeFirst();
+            }
+        }
+        this.report.accept(this.uid(), total);
+        return output;
+    }
+
+    /**
+     * Make sure we are still within the limits.
+     * @param total Iterations made so far
+     * @param spent Milliseconds spent so far
+     */
+    private void check(final int total, final long spent) {
+        if (total >= this.max) {
+            throw new IllegalStateException(
+                String.format(
+                    "Shift '%s' didn't reach a fixed point in %d iteration(s)",
+                    this.uid(), total
+                )
+            );
+        }
+        if (spent > this.msec) {
+            throw new IllegalStateException(
+                String.format(
+                    "Shift '%s' didn't reach a fixed point in %d ms, after %d iteration(s)",
+                    this.uid(), spent, total
+                )
+            );
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.w3c.dom.Node;
+
+/**
+ * A {@link Shift} that modifies the DOM of the document.
+ *
+ * <p>Usually, a shift that wants to change a document makes a deep copy
+ * of it first, since the document may be held by somebody else. This shift
+ * does the same, unless the document is owned by the pass: it
+ * happens when {@link Xsline} is told to own intermediate documents and
+ * the document was made by the previous shift. Then, the DOM is modified
+ * in place, without copying:</p>
+ *
+ * <pre> new Xsline(
+ *   new TrDefault&lt;&gt;(
+ *     new StClasspath("/first.xsl"),
+ *     new StInPlace("strip", node -&gt; strip(node)),
+ *     new StClasspath("/second.xsl")
+ *   ),
+ *   true
+ * ).pass(input);</pre>
+ *
+ * <p>Since the input document of the shift is modified, it is lost after
+ * the shift. {@link StLogged} notices such changes, since the owned
+ * document counts them, while {@link StEndless} takes fingerprints
+ * of the input before the shift starts.</p>
+ *
+ * <p>The class is thread-safe, if the function is.</p>
+ *
+ * @since 0.23.0
+ */
+public final class StInPlace implements Shift {
+
+    /**
+     * The UID.
+     */
+    private final String name;
+
+    /**
+     * The function.
+     */
+    private final BiConsumer<Integer, Node> lambda;
+
+    /**
+     * Ctor.
+     * @param uid The UID
+     * @param fun The function, which modifies the DOM
+     */
+    public StInPlace(final String uid, final Consumer<Node> fun) {
+        this(uid, (position, node) -> fun.accept(node));
+    }
+
+    /**
+     * Ctor.
+     * @param uid The UID
+     * @param fun The function, which modifies the DOM at the given position
+     */
+    public StInPlace(final String uid, final BiConsumer<Integer, Node> fun) {
+        this.name = uid;
+        this.lambda = fun;
+    }
+
+    @Override
+    public String uid() {
+        return this.name;
+    }
+
+    @Override
+    public XML apply(final int position, final XML xml) {
+        final XML out;
+        if (xml instanceof OwnedXML) {
+            this.lambda.accept(position, ((OwnedXML) xml).edit());
+            out = xml;
+        } else {
+            final Node copy = xml.deepCopy();
+            this.lambda.accept(position, copy);
+            out = new XMLDocument(copy);
+        }
+        return out;
+    }
+}
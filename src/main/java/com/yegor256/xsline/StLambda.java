@@ -34,6 +34,8 @@ import java.util.function.Supplier;
  * class for your shift, but just want a simple piece of code to
  * do the transformation.</p>
  *
+ * <p>The class is thread-safe, provided the function is thread-safe.</p>
+ *
  * @since 0.13.0
  * @checkstyle IllegalCatchCheck (500 lines)
  */
@@ -74,12 +76,14 @@ public final class StLambda implements Shift {
      */
     public StLambda(final BiFunctionChecked<Integer, XML, XML> fun) {
         this(
-            new Supplier<String>() {
-                @Override
-                public String get() {
-                    return String.format("λ-%x", this.hashCode());
+            new Sticky<>(
+                new Supplier<String>() {
+                    @Override
+                    public String get() {
+                        return String.format("λ-%x", this.hashCode());
+                    }
                 }
-            },
+            ),
             fun
         );
     }
@@ -31,13 +31,25 @@ import java.util.logging.Level;
  * A shift that logs the process through Slf4j.
  *
  * <p>The decorator logs all transformations with {@code DEBUG} logging
- * level. It also prints the entire content of the produced XML to the log.
- * This may be pretty verbose, be careful when using this class.</p>
+ * level. It also prints the XPath of the first node that was changed
+ * by the shift and a short excerpt of it (up to 4096 characters, by
+ * default). Documents are not serialized entirely, and are not even
+ * compared, if the logging level is disabled.</p>
+ *
+ * <p>Some shifts, like {@link StInPlace}, modify their input documents
+ * in place, and the input is lost. Such documents are owned by the pass,
+ * and they count how many times they were given out to be modified. If
+ * the shift returns the same DOM and the count has changed, an excerpt
+ * of the new document is logged, without the XPath of the first
+ * difference. Nothing is walked before the shift starts.</p>
  *
  * <p>The decorator catches all children of {@link RuntimeException},
  * logs them, and then re-throws as instances of
  * {@link IllegalArgumentException}.</p>
  *
+ * <p>The class is thread-safe, provided the encapsulated shift is
+ * thread-safe.</p>
+ *
  * @since 0.1.0
  */
 public final class StLogged implements Shift {
@@ -57,6 +69,11 @@ public final class StLogged implements Shift {
      */
     private final Level level;
 
+    /**
+     * Max length of excerpts to log, in characters.
+     */
+    private final int chars;
+
     /**
      * Ctor.
      *
@@ -90,9 +107,24 @@ public final class StLogged implements Shift {
      * @since 0.19.0
      */
     public StLogged(final Shift shift, final Object tgt, final Level lvl) {
+        this(shift, tgt, lvl, 4096);
+    }
+
+    /**
+     * Ctor.
+     * @param shift The shift
+     * @param tgt The target to log against
+     * @param lvl The logging level
+     * @param max Max length of excerpts to log, in characters
+     * @since 0.23.0
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public StLogged(final Shift shift, final Object tgt, final Level lvl,
+        final int max) {
         this.origin = shift;
         this.target = tgt;
         this.level = lvl;
+        this.chars = max;
     }
 
     @Override
@@ -106,10 +138,20 @@ public final class StLogged implements Shift {
         final XML out;
         try {
             if (Logger.isEnabled(this.level, this.target)) {
-                final String before = xml.toString();
+                final long edits = OwnedXML.edits(xml);
                 out = this.origin.apply(position, xml);
-                final String after = out.toString();
-                if (before.equals(after)) {
+                final Diff diff = new Diff(xml.inner(), out.inner(), this.chars);
+                if (out.inner().isSameNode(xml.inner())
+                    && edits != OwnedXML.edits(xml)) {
+                    Logger.log(
+                        this.level,
+                        this.target,
+                        "Shift #%d via '%s' edited the document in place:%n%s<EOF>",
+                        position,
+                        this.uid(),
+                        new Excerpt(out.inner(), this.chars)
+                    );
+                } else if (diff.empty()) {
                     Logger.log(
                         this.level,
                         this.target,
@@ -120,12 +162,10 @@ public final class StLogged implements Shift {
                     Logger.log(
                         this.level,
                         this.target,
-                        "Shift #%d via '%s' produced (%d->%d chars):\n%s<EOF>",
+                        "Shift #%d via '%s' %s<EOF>",
                         position,
                         this.uid(),
-                        before.length(),
-                        after.length(),
-                        after
+                        diff.toString()
                             .replace("\n", "\\n\n")
                             .replace("\t", "\\t\t")
                             .replace("\r", "\\r\r")
@@ -136,7 +176,10 @@ public final class StLogged implements Shift {
             }
         // @checkstyle IllegalCatchCheck (1 line)
         } catch (final RuntimeException ex) {
-            Logger.error(this.target, "The error happened here:%n%s", xml);
+            Logger.error(
+                this.target, "The error happened here:%n%s",
+                new Excerpt(xml.inner(), this.chars)
+            );
             throw new IllegalArgumentException(
                 String.format("Shift '%s' failed", this.origin),
                 ex
@@ -144,4 +187,12 @@ public final class StLogged implements Shift {
         }
         return out;
     }
+
+    /**
+     * The decorated shift.
+     * @return The shift
+     */
+    Shift decorated() {
+        return this.origin;
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.Collection;
+
+/**
+ * A {@link Shift} that measures itself, for {@link PassReport}.
+ *
+ * <p>The class is NOT thread-safe, it is used inside one pass only.</p>
+ *
+ * @since 0.23.0
+ */
+final class StMeasured implements Shift {
+
+    /**
+     * The original shift.
+     */
+    private final Shift origin;
+
+    /**
+     * Where to add steps.
+     */
+    private final Collection<PassReport.Step> steps;
+
+    /**
+     * Ctor.
+     * @param shift The shift
+     * @param list Where to add steps
+     */
+    StMeasured(final Shift shift, final Collection<PassReport.Step> list) {
+        this.origin = shift;
+        this.steps = list;
+    }
+
+    @Override
+    public String uid() {
+        return this.origin.uid();
+    }
+
+    @Override
+    public XML apply(final int position, final XML xml) {
+        final long before = new Nodes(xml).count();
+        final long start = System.nanoTime();
+        final XML out = this.origin.apply(position, xml);
+        final long nanos = System.nanoTime() - start;
+        this.steps.add(
+            new PassReport.Step(this.uid(), nanos, before, new Nodes(out).count())
+        );
+        return out;
+    }
+
+    /**
+     * The decorated shift.
+     * @return The shift
+     */
+    Shift decorated() {
+        return this.origin;
+    }
+}
@@ -34,12 +34,17 @@ package com.yegor256.xsline;
 @Deprecated
 public final class StOfTrain extends StEnvelope {
 
+    /**
+     * The sequence inside.
+     */
+    private final StSequence sequence;
+
     /**
      * Ctor.
      * @param train The train
      */
     public StOfTrain(final Train<Shift> train) {
-        super(
+        this(
             new StSequence(train)
         );
     }
@@ -50,9 +55,26 @@ public final class StOfTrain extends StEnvelope {
      * @param train The train
      */
     public StOfTrain(final String uid, final Train<Shift> train) {
-        super(
+        this(
             new StSequence(uid, train)
         );
     }
 
+    /**
+     * Ctor.
+     * @param seq The sequence
+     */
+    private StOfTrain(final StSequence seq) {
+        super(seq);
+        this.sequence = seq;
+    }
+
+    /**
+     * Shifts of the train.
+     * @return The shifts
+     */
+    Iterable<Shift> shifts() {
+        return this.sequence.shifts();
+    }
+
 }
@@ -37,7 +37,8 @@ import java.util.function.Function;
  * required. This {@link Shift} is doing
  * exactly this: it evaluates the encapsulated {@link Shift} and then
  * asks the encapsulated predicate to make a decision whether one more
- * XSL transformation is required.</p>
+ * XSL transformation is required. If you just need to repeat it until
+ * the document stops changing, use {@link StFixpoint}.</p>
  *
  * @since 0.1.0
  */
@@ -0,0 +1,240 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A train of shifts, validated by a checking shift, but not after
+ * every shift for every document.
+ *
+ * <p>Putting {@link StSchema} after every shift with {@link TrAfter} is
+ * a good safety net, but it doubles the cost of each pass. This shift
+ * applies the shifts of the train and the check in a smarter way:</p>
+ *
+ * <ul>
+ * <li>Every N-th document is checked after every shift;</li>
+ * <li>All other documents are checked only once, after the last shift
+ * of the train (at its boundary);</li>
+ * <li>If the check fails at the boundary, the document is passed through
+ * the train again (replayed), this time checked after every shift,
+ * in order to find out which shift is guilty.</li>
+ * </ul>
+ *
+ * <p>Only failures of the check lead to replays. If a shift fails, its
+ * exception goes out as is, and nothing is replayed. A replay applies all
+ * shifts of the train to the same document again, that's why the shifts
+ * must be idempotent: they must give the same output for the same input
+ * and must not have other effects, which may not happen twice. If the
+ * document was modified in place during the first run, for example by
+ * {@link StInPlace}, it can't be replayed, and the failure of the check
+ * goes out as is.</p>
+ *
+ * <p>For example, this is how a train may be checked strictly in tests
+ * and only on a sample in production:</p>
+ *
+ * <pre> new Xsline(
+ *   new StSampled(train, new StSchema("/foo.xsd"), test ? 1 : 100)
+ * )</pre>
+ *
+ * <p>How many documents were checked fully, only at the boundary, or
+ * replayed, is visible through {@link #full()}, {@link #boundary()},
+ * and {@link #replays()}.</p>
+ *
+ * <p>The class is thread-safe, if the shifts are thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+public final class StSampled implements Shift {
+
+    /**
+     * The shifts.
+     */
+    private final Iterable<Shift> shifts;
+
+    /**
+     * The check.
+     */
+    private final Shift check;
+
+    /**
+     * Every N-th document is checked after every shift.
+     */
+    private final int every;
+
+    /**
+     * Documents seen.
+     */
+    private final AtomicLong seen;
+
+    /**
+     * Documents checked after every shift.
+     */
+    private final AtomicLong strict;
+
+    /**
+     * Documents checked only at the boundary.
+     */
+    private final AtomicLong lax;
+
+    /**
+     * Documents replayed after a failure.
+     */
+    private final AtomicLong replayed;
+
+    /**
+     * The UID.
+     */
+    private final Supplier<String> name;
+
+    /**
+     * Ctor.
+     * @param train The shifts
+     * @param chk The check, for example {@link StSchema}
+     * @param nth Every N-th document is checked after every shift,
+     *  use 1 to check all of them
+     */
+    public StSampled(final Iterable<Shift> train, final Shift chk,
+        final int nth) {
+        this.shifts = train;
+        this.check = chk;
+        this.every = Math.max(1, nth);
+        this.seen = new AtomicLong();
+        this.strict = new AtomicLong();
+        this.lax = new AtomicLong();
+        this.replayed = new AtomicLong();
+        this.name = new Sticky<>(
+            () -> {
+                final Collection<String> uids = new ArrayList<>(0);
+                for (final Shift shift : train) {
+                    uids.add(shift.uid());
+                }
+                return String.join("+", uids);
+            }
+        );
+    }
+
+    @Override
+    public String uid() {
+        return this.name.get();
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public XML apply(final int position, final XML xml) {
+        final XML out;
+        if (this.seen.getAndIncrement() % this.every == 0) {
+            this.strict.incrementAndGet();
+            out = this.strictly(xml);
+        } else {
+            this.lax.incrementAndGet();
+            final long edits = OwnedXML.edits(xml);
+            XML current = xml;
+            int pos = 0;
+            for (final Shift shift : this.shifts) {
+                current = shift.apply(pos, current);
+                ++pos;
+            }
+            try {
+                current = this.check.apply(pos, current);
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException ex) {
+                if (OwnedXML.edits(xml) != edits) {
+                    throw ex;
+                }
+                this.replayed.incrementAndGet();
+                current = this.strictly(xml);
+            }
+            out = current;
+        }
+        return out;
+    }
+
+    /**
+     * How many documents were checked after every shift.
+     * @return Total
+     */
+    public long full() {
+        return this.strict.get();
+    }
+
+    /**
+     * How many documents were checked only after the last shift.
+     * @return Total
+     */
+    public long boundary() {
+        return this.lax.get();
+    }
+
+    /**
+     * How many documents were replayed after a failure.
+     * @return Total
+     */
+    public long replays() {
+        return this.replayed.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d full, %d at boundary, %d replayed",
+            this.full(), this.boundary(), this.replays()
+        );
+    }
+
+    /**
+     * Apply all shifts and check after each of them.
+     * @param xml The input
+     * @return The output
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private XML strictly(final XML xml) {
+        XML current = xml;
+        int pos = 0;
+        for (final Shift shift : this.shifts) {
+            current = shift.apply(pos, current);
+            try {
+                current = this.check.apply(pos, current);
+            // @checkstyle IllegalCatchCheck (1 line)
+            } catch (final RuntimeException ex) {
+                throw new IllegalStateException(
+                    String.format(
+                        "The check '%s' failed after shift #%d '%s'",
+                        this.check.uid(), pos, shift.uid()
+                    ),
+                    ex
+                );
+            }
+            ++pos;
+        }
+        if (pos == 0) {
+            current = this.check.apply(pos, current);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.Sources;
+import com.jcabi.xml.XML;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.xml.transform.stream.StreamSource;
+import net.sf.saxon.lib.ResourceResolverWrappingURIResolver;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmDestination;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.XdmValue;
+import net.sf.saxon.s9api.XmlProcessingError;
+import net.sf.saxon.s9api.XsltCompiler;
+import net.sf.saxon.s9api.XsltExecutable;
+import net.sf.saxon.s9api.XsltTransformer;
+
+/**
+ * A {@link Shift} that runs XSL stylesheet natively in Saxon.
+ *
+ * <p>The stylesheet is compiled by Saxon s9api into {@link XsltExecutable},
+ * only once. The input document, if it was made by another
+ * {@link StSaxon}, goes into the {@link XsltTransformer} as it is, without
+ * any conversion. The output document stays a Saxon tree, see
+ * {@link XdmXML}. All stylesheets are compiled by the same Saxon
+ * {@link Processor}, that's why their trees are compatible.</p>
+ *
+ * <p>Messages of {@code xsl:message} go to the log, the same way as
+ * in {@link XSLTemplates}, see {@link Messages}.</p>
+ *
+ * @since 0.23.0
+ */
+final class StSaxon implements Shift {
+
+    /**
+     * The processor, the same for all shifts.
+     */
+    private static final Processor SAXON = new Processor(false);
+
+    /**
+     * The original shift.
+     */
+    private final Stylesheet origin;
+
+    /**
+     * The executable, compiled once.
+     */
+    private final Supplier<XsltExecutable> executable;
+
+    /**
+     * Sources, to resolve documents.
+     */
+    private final Sources sources;
+
+    /**
+     * Parameters of the stylesheet.
+     */
+    private final Map<QName, XdmValue> params;
+
+    /**
+     * Ctor.
+     * @param sheet The stylesheet, which must have {@link XSLTemplates} inside
+     */
+    StSaxon(final Stylesheet sheet) {
+        this.origin = sheet;
+        this.executable = new Sticky<>(
+            () -> ((XSLTemplates) sheet.xsl()).parts(
+                (text, sid, srcs, map) -> StSaxon.compile(text, sid, srcs)
+            )
+        );
+        this.sources = ((XSLTemplates) sheet.xsl()).parts(
+            (text, sid, srcs, map) -> srcs
+        );
+        this.params = ((XSLTemplates) sheet.xsl()).parts(
+            (text, sid, srcs, map) -> StSaxon.values(map)
+        );
+    }
+
+    @Override
+    public String uid() {
+        return this.origin.uid();
+    }
+
+    @Override
+    public XML apply(final int position, final XML xml) {
+        final Errors errors = new Errors();
+        try {
+            final XsltTransformer trans = this.executable.get().load();
+            trans.setErrorListener(errors);
+            trans.setMessageHandler(new Messages());
+            trans.setResourceResolver(
+                new ResourceResolverWrappingURIResolver(this.sources)
+            );
+            for (final Map.Entry<QName, XdmValue> ent : this.params.entrySet()) {
+                trans.setParameter(ent.getKey(), ent.getValue());
+            }
+            trans.setInitialContextNode(StSaxon.tree(xml));
+            final XdmDestination dest = new XdmDestination();
+            trans.setDestination(dest);
+            trans.transform();
+            return new XdmXML(dest.getXdmNode());
+        } catch (final SaxonApiException ex) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Failed to transform by '%s' via Saxon: %s",
+                    this.uid(), errors.summary(ex)
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * The decorated shift.
+     * @return The shift
+     */
+    Shift decorated() {
+        return this.origin;
+    }
+
+    /**
+     * Get Saxon tree out of the XML, without copying, if possible.
+     * @param xml The XML
+     * @return The tree
+     * @throws SaxonApiException If fails
+     */
+    private static XdmNode tree(final XML xml) throws SaxonApiException {
+        final XdmNode node;
+        if (xml instanceof XdmXML) {
+            node = ((XdmXML) xml).xdm();
+        } else {
+            node = StSaxon.SAXON.newDocumentBuilder().build(MemoXML.source(xml));
+        }
+        return node;
+    }
+
+    /**
+     * Compile the stylesheet.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes and documents
+     * @return The executable
+     */
+    private static XsltExecutable compile(final String text, final String sid,
+        final Sources srcs) {
+        final XsltCompiler compiler = StSaxon.SAXON.newXsltCompiler();
+        final List<XmlProcessingError> errors = new LinkedList<>();
+        compiler.setErrorList(errors);
+        compiler.setResourceResolver(new ResourceResolverWrappingURIResolver(srcs));
+        try {
+            return compiler.compile(new StreamSource(new StringReader(text), sid));
+        } catch (final SaxonApiException ex) {
+            final Collection<String> msgs = new LinkedList<>();
+            for (final XmlProcessingError error : errors) {
+                msgs.add(error.getMessage());
+            }
+            msgs.add(ex.getMessage());
+            throw new IllegalArgumentException(
+                String.format(
+                    "Failed to compile '%s' by Saxon: %s",
+                    sid, String.join("; ", msgs)
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Turn parameters into Saxon values.
+     * @param map The parameters
+     * @return Saxon values
+     */
+    private static Map<QName, XdmValue> values(final Map<String, Object> map) {
+        final Map<QName, XdmValue> values = new HashMap<>(map.size());
+        for (final Map.Entry<String, Object> ent : map.entrySet()) {
+            final XdmValue value;
+            if (ent.getValue() instanceof XdmValue) {
+                value = (XdmValue) ent.getValue();
+            } else {
+                value = XdmAtomicValue.makeAtomicValue(ent.getValue());
+            }
+            values.put(QName.fromClarkName(ent.getKey()), value);
+        }
+        return values;
+    }
+}
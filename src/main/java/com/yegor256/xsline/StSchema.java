@@ -29,11 +29,23 @@ import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URL;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedList;
 import java.util.Objects;
+import java.util.function.Supplier;
+import javax.xml.XMLConstants;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 /**
@@ -49,10 +61,26 @@ import org.xml.sax.SAXParseException;
  * is used but the XML document doesn't contain any schema location hints,
  * a runtime exception will be thrown.</p>
  *
+ * <p>Schemas are compiled only once and then kept in a cache, shared by
+ * all instances of this class, together with a small pool of validators
+ * for each of them. Schemas found through location hints are cached by
+ * the locations. Validation doesn't go through the global lock of
+ * {@link XMLDocument#validate(XML)}, so many threads may validate
+ * at the same time.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
  * @since 0.10.0
  */
 public final class StSchema extends StEnvelope {
 
+    /**
+     * Compiled schemas, together with their validators.
+     */
+    private static final Lru<String, Validators> SCHEMAS = new Lru<>(
+        64, Long.MAX_VALUE, (key, pool) -> 1L
+    );
+
     /**
      * Ctor.
      */
@@ -69,6 +97,17 @@ public final class StSchema extends StEnvelope {
         this(StSchema.make(path));
     }
 
+    /**
+     * Ctor.
+     *
+     * @param path The path of XSD document in classpath
+     * @param max Max number of violations to find, before failing
+     * @since 0.23.0
+     */
+    public StSchema(final String path, final int max) {
+        this(StSchema.make(path), max);
+    }
+
     /**
      * Ctor.
      *
@@ -85,28 +124,99 @@ public final class StSchema extends StEnvelope {
      * @param schema The schema
      */
     public StSchema(final XML schema) {
+        this(schema, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     *
+     * <p>Validation stops as soon as the given number of violations
+     * is found, without visiting the rest of the document. With {@code 1},
+     * it fails fast, on the first violation.</p>
+     *
+     * @param schema The schema
+     * @param max Max number of violations to find, before failing
+     * @since 0.23.0
+     */
+    public StSchema(final XML schema, final int max) {
         super(
             new StLambda(
                 "xsd-schema",
-                xml -> StSchema.validate(schema, xml)
+                StSchema.validation(schema, max)
             )
         );
     }
 
     /**
-     * Validate it.
+     * Make a function that validates XML documents.
+     *
+     * @param schema The schema or NULL, if hints must be used
+     * @param max Max number of violations to find
+     * @return The function
+     */
+    private static FunctionChecked<XML, XML> validation(final XML schema,
+        final int max) {
+        final FunctionChecked<XML, XML> fun;
+        if (Objects.isNull(schema)) {
+            fun = xml -> StSchema.validate(StSchema.hinted(xml, max), xml);
+        } else {
+            final String text = schema.toString();
+            final Supplier<Validators> pool = new Sticky<>(
+                () -> StSchema.SCHEMAS.get(
+                    text,
+                    () -> new Validators(() -> StSchema.compile(text))
+                )
+            );
+            fun = xml -> StSchema.validate(
+                pool.get().validate(MemoXML.source(xml), max), xml
+            );
+        }
+        return fun;
+    }
+
+    /**
+     * Validate XML against the schema mentioned in its root element.
      *
-     * @param schema The schema
      * @param xml The XML
-     * @return The same XML
+     * @param max Max number of violations to find
+     * @return Violations found
      */
-    private static XML validate(final XML schema, final XML xml) {
+    private static Collection<SAXParseException> hinted(final XML xml,
+        final int max) {
+        Node root = xml.inner();
+        if (root.getNodeType() == Node.DOCUMENT_NODE) {
+            root = ((Document) root).getDocumentElement();
+        }
+        final Element elem = (Element) root;
+        final String single = elem.getAttributeNS(
+            XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI,
+            "noNamespaceSchemaLocation"
+        );
+        final String pairs = elem.getAttributeNS(
+            XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI,
+            "schemaLocation"
+        );
         final Collection<SAXParseException> violations;
-        if (Objects.isNull(schema)) {
+        if (single.isEmpty() && pairs.isEmpty()) {
             violations = xml.validate(new ClasspathResolver());
         } else {
-            violations = xml.validate(schema);
+            violations = StSchema.SCHEMAS.get(
+                String.format("hints:%s %s", single, pairs),
+                () -> new Validators(() -> StSchema.compile(single, pairs))
+            ).validate(MemoXML.source(xml), max);
         }
+        return violations;
+    }
+
+    /**
+     * Throw if there are violations.
+     *
+     * @param violations Violations found
+     * @param xml The XML
+     * @return The same XML
+     */
+    private static XML validate(final Collection<SAXParseException> violations,
+        final XML xml) {
         if (!violations.isEmpty()) {
             final Collection<String> msgs = new ArrayList<>(violations.size());
             for (final SAXParseException violation : violations) {
@@ -155,6 +265,83 @@ public final class StSchema extends StEnvelope {
         return msg.toString();
     }
 
+    /**
+     * Compile XSD schema.
+     *
+     * <p>It is compiled from its text, printed when the shift was made,
+     * since a few threads may compile the same schema at the same time,
+     * when they all miss the cache, while DOM is not thread-safe,
+     * even for reading.</p>
+     *
+     * @param text The text of the schema
+     * @return Compiled schema
+     */
+    private static Schema compile(final String text) {
+        try {
+            return SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                .newSchema(new StreamSource(new StringReader(text)));
+        } catch (final SAXException ex) {
+            throw new IllegalStateException(
+                String.format("Failed to create XSD schema from %s", text),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Compile XSD schema from the locations found in XML.
+     *
+     * <p>Locations are looked up in classpath first. Imports and includes
+     * are resolved with the help of {@link ClasspathResolver}.</p>
+     *
+     * @param single The value of {@code xsi:noNamespaceSchemaLocation}
+     * @param pairs The value of {@code xsi:schemaLocation}
+     * @return Compiled schema
+     */
+    private static Schema compile(final String single, final String pairs) {
+        final Collection<Source> sources = new LinkedList<>();
+        if (!single.isEmpty()) {
+            sources.add(StSchema.source(single));
+        }
+        final String[] parts = pairs.trim().split("\\s+");
+        for (int idx = 1; idx < parts.length; idx += 2) {
+            sources.add(StSchema.source(parts[idx]));
+        }
+        final SchemaFactory factory = SchemaFactory.newInstance(
+            XMLConstants.W3C_XML_SCHEMA_NS_URI
+        );
+        factory.setResourceResolver(new ClasspathResolver());
+        try {
+            return factory.newSchema(sources.toArray(new Source[0]));
+        } catch (final SAXException ex) {
+            throw new IllegalStateException(
+                String.format(
+                    "Failed to create XSD schema from '%s' and '%s'",
+                    single, pairs
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Make a source of the schema, found in classpath or by URL.
+     *
+     * @param location The location
+     * @return The source
+     */
+    private static Source source(final String location) {
+        final URL url = Thread.currentThread().getContextClassLoader()
+            .getResource(location);
+        final String sid;
+        if (url == null) {
+            sid = location;
+        } else {
+            sid = url.toString();
+        }
+        return new StreamSource(sid);
+    }
+
     /**
      * Make XSD safely.
      *
@@ -24,6 +24,7 @@
 package com.yegor256.xsline;
 
 import com.jcabi.xml.XML;
+import java.util.Collections;
 
 /**
  * A {@link Shift} that apply another shifts,
@@ -37,14 +38,27 @@ import com.jcabi.xml.XML;
  */
 public final class StSequence extends StEnvelope {
 
+    /**
+     * The shifts.
+     */
+    private final Iterable<Shift> train;
+
+    /**
+     * Are all shifts applied, without a predicate?
+     */
+    private final boolean always;
+
     /**
      * Ctor.
      * @param train The train
      */
     public StSequence(final Iterable<Shift> train) {
         this(
-            xml -> true,
-            train
+            new StLambda(
+                StSequence.apply(xml -> true, train)
+            ),
+            train,
+            true
         );
     }
 
@@ -55,9 +69,12 @@ public final class StSequence extends StEnvelope {
      */
     public StSequence(final String uid, final Iterable<Shift> train) {
         this(
-            uid,
-            xml -> true,
-            train
+            new StLambda(
+                uid,
+                StSequence.apply(xml -> true, train)
+            ),
+            train,
+            true
         );
     }
 
@@ -67,8 +84,10 @@ public final class StSequence extends StEnvelope {
      */
     public StSequence(final Shift... shifts) {
         this(
-            xml -> true,
-            shifts
+            new TrBulk<>(
+                new TrDefault<>(),
+                shifts
+            ).back()
         );
     }
 
@@ -80,8 +99,10 @@ public final class StSequence extends StEnvelope {
     public StSequence(final String uid, final Shift... shifts) {
         this(
             uid,
-            xml -> true,
-            shifts
+            new TrBulk<>(
+                new TrDefault<>(),
+                shifts
+            ).back()
         );
     }
 
@@ -127,10 +148,12 @@ public final class StSequence extends StEnvelope {
      */
     public StSequence(final FunctionChecked<XML, Boolean> fun,
         final Iterable<Shift> train) {
-        super(
+        this(
             new StLambda(
                 StSequence.apply(fun, train)
-            )
+            ),
+            train,
+            false
         );
     }
 
@@ -143,14 +166,55 @@ public final class StSequence extends StEnvelope {
     public StSequence(final String uid,
         final FunctionChecked<XML, Boolean> fun,
         final Iterable<Shift> train) {
-        super(
+        this(
             new StLambda(
                 uid,
                 StSequence.apply(fun, train)
-            )
+            ),
+            train,
+            false
         );
     }
 
+    /**
+     * Ctor.
+     * @param shift The shift, which applies the train
+     * @param train The train
+     * @param all Are all shifts applied, without a predicate?
+     */
+    private StSequence(final Shift shift, final Iterable<Shift> train,
+        final boolean all) {
+        super(shift);
+        this.train = train;
+        this.always = all;
+    }
+
+    /**
+     * Shifts of the sequence, if they may be applied without it.
+     *
+     * <p>This is possible only if there is no predicate. Otherwise,
+     * the sequence itself is the only shift here.</p>
+     *
+     * @return The shifts
+     */
+    Iterable<Shift> shifts() {
+        final Iterable<Shift> list;
+        if (this.always) {
+            list = this.train;
+        } else {
+            list = Collections.singleton(this);
+        }
+        return list;
+    }
+
+    /**
+     * All shifts of the sequence, whether there is a predicate or not.
+     * @return The shifts
+     */
+    Iterable<Shift> all() {
+        return this.train;
+    }
+
     /**
      * Applies {@link Shift}-s, while provided predicate is true.
      * @param fun The predicate
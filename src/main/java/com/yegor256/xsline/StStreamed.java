@@ -0,0 +1,183 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Result;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.sax.SAXResult;
+import javax.xml.transform.sax.TransformerHandler;
+import org.w3c.dom.Document;
+
+/**
+ * A {@link Shift} that runs a few XSL stylesheets as one stream of SAX events.
+ *
+ * <p>The output of each stylesheet goes directly into the next one,
+ * through a {@link TransformerHandler}, without building a DOM
+ * in between. Only the output of the last stylesheet becomes a DOM.
+ * Handlers are made by the same {@link javax.xml.transform.TransformerFactory}
+ * that compiled their stylesheets. If any of them can't make
+ * SAX handlers, stylesheets are applied one by one.</p>
+ *
+ * <p>All stylesheets must be instances of {@link XSLTemplates}.</p>
+ *
+ * <p>The shift takes as many positions in the pipeline as there are
+ * stylesheets, starting from the position it is applied at, see
+ * {@link TrStreamed}.</p>
+ *
+ * @since 0.23.0
+ */
+final class StStreamed implements Shift {
+
+    /**
+     * The shifts, all of them are stylesheets.
+     */
+    private final List<Stylesheet> sheets;
+
+    /**
+     * The UID.
+     */
+    private final Supplier<String> name;
+
+    /**
+     * Ctor.
+     * @param shifts The shifts to join
+     */
+    StStreamed(final Collection<Stylesheet> shifts) {
+        this.sheets = new ArrayList<>(shifts);
+        this.name = new Sticky<>(
+            () -> {
+                final Collection<String> uids = new ArrayList<>(this.sheets.size());
+                for (final Shift shift : this.sheets) {
+                    uids.add(shift.uid());
+                }
+                return String.join("+", uids);
+            }
+        );
+    }
+
+    @Override
+    public String uid() {
+        return this.name.get();
+    }
+
+    @Override
+    public XML apply(final int position, final XML xml) {
+        final XML out;
+        if (this.streams()) {
+            out = this.stream(xml);
+        } else {
+            XML doc = xml;
+            int pos = position;
+            for (final Shift shift : this.sheets) {
+                doc = shift.apply(pos, doc);
+                ++pos;
+            }
+            out = doc;
+        }
+        return out;
+    }
+
+    /**
+     * The stylesheets joined here.
+     * @return The stylesheets
+     */
+    List<Stylesheet> joined() {
+        return Collections.unmodifiableList(this.sheets);
+    }
+
+    /**
+     * Can all stylesheets, except the first one, be SAX handlers?
+     * @return TRUE if they can
+     */
+    private boolean streams() {
+        boolean can = true;
+        for (int idx = 1; idx < this.sheets.size(); ++idx) {
+            if (!this.templates(idx).streams()) {
+                can = false;
+                break;
+            }
+        }
+        return can;
+    }
+
+    /**
+     * Stream the XML through all stylesheets.
+     * @param xml The XML
+     * @return The output of the last stylesheet
+     */
+    private XML stream(final XML xml) {
+        final Document target;
+        try {
+            target = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder().newDocument();
+        } catch (final ParserConfigurationException ex) {
+            throw new IllegalArgumentException(
+                "Failed to create new XML document", ex
+            );
+        }
+        final Errors errors = new Errors();
+        Result result = new DOMResult(target);
+        for (int idx = this.sheets.size() - 1; idx > 0; --idx) {
+            final TransformerHandler handler = this.templates(idx).handler(errors);
+            handler.setResult(result);
+            final SAXResult sax = new SAXResult(handler);
+            sax.setLexicalHandler(handler);
+            result = sax;
+        }
+        final Transformer first = this.templates(0).transformer(errors);
+        try {
+            first.transform(MemoXML.source(xml), result);
+        } catch (final TransformerException ex) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Failed to transform by '%s' via %s: %s",
+                    this.uid(),
+                    first.getClass().getName(),
+                    errors.summary(ex)
+                ),
+                ex
+            );
+        }
+        return new MemoXML(target);
+    }
+
+    /**
+     * Get templates of the stylesheet.
+     * @param idx The position of the stylesheet
+     * @return The templates
+     */
+    private XSLTemplates templates(final int idx) {
+        return (XSLTemplates) this.sheets.get(idx).xsl();
+    }
+}
@@ -23,16 +23,33 @@
  */
 package com.yegor256.xsline;
 
-import com.jcabi.xml.XMLDocument;
 import com.jcabi.xml.XSL;
+import java.io.StringReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * Simple {@link Shift} through a single XSL.
  *
+ * <p>The UID of the shift is the {@code id} attribute of the root
+ * element of the stylesheet. It is retrieved only once, when it is
+ * requested for the first time, and then remembered. Only the beginning
+ * of the stylesheet is read, up to the root element.</p>
+ *
+ * <p>The class is thread-safe, provided the encapsulated {@link XSL} is
+ * thread-safe, as {@link XSLTemplates} and
+ * {@link com.jcabi.xml.XSLDocument} are.</p>
+ *
  * @since 0.1.0
  * @checkstyle AbbreviationAsWordInNameCheck (3 lines)
  */
-public final class StXSL extends StEnvelope {
+public final class StXSL extends StEnvelope implements Stylesheet {
+
+    /**
+     * The XSL.
+     */
+    private final XSL sheet;
 
     /**
      * Ctor.
@@ -41,10 +58,50 @@ public final class StXSL extends StEnvelope {
     public StXSL(final XSL xsl) {
         super(
             new StLambda(
-                () -> new XMLDocument(xsl.toString()).xpath("/*/@id").get(0),
-                (integer, xml) -> xsl.transform(xml)
+                new Sticky<>(() -> StXSL.uid(xsl)),
+                (integer, xml) -> MemoXML.memo(xsl.transform(xml))
             )
         );
+        this.sheet = xsl;
+    }
+
+    @Override
+    public XSL xsl() {
+        return this.sheet;
+    }
+
+    /**
+     * Find the ID of the stylesheet.
+     * @param xsl The XSL
+     * @return The value of the {@code id} attribute of the root element
+     */
+    private static String uid(final XSL xsl) {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        try {
+            final XMLStreamReader reader = factory.createXMLStreamReader(
+                new StringReader(xsl.toString())
+            );
+            try {
+                reader.nextTag();
+                final String uid = reader.getAttributeValue(null, "id");
+                if (uid == null) {
+                    throw new IllegalArgumentException(
+                        String.format(
+                            "There is no @id attribute at the root element <%s> of the XSL",
+                            reader.getLocalName()
+                        )
+                    );
+                }
+                return uid;
+            } finally {
+                reader.close();
+            }
+        } catch (final XMLStreamException ex) {
+            throw new IllegalArgumentException(
+                "Failed to read @id attribute of the XSL", ex
+            );
+        }
     }
 
 }
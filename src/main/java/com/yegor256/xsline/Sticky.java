@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Supplier that calculates its value only once and then remembers it.
+ *
+ * <p>The class is thread-safe. If two threads ask for the value at
+ * the same time, the origin may be asked twice, but only one
+ * result will be remembered and returned to everybody afterwards.</p>
+ *
+ * @param <T> Type of value
+ * @since 0.23.0
+ */
+final class Sticky<T> implements Supplier<T> {
+
+    /**
+     * The origin.
+     */
+    private final Supplier<T> origin;
+
+    /**
+     * The value, if already calculated.
+     */
+    private final AtomicReference<T> cache;
+
+    /**
+     * Ctor.
+     * @param supplier The origin
+     */
+    Sticky(final Supplier<T> supplier) {
+        this.origin = supplier;
+        this.cache = new AtomicReference<>();
+    }
+
+    @Override
+    public T get() {
+        T value = this.cache.get();
+        if (value == null) {
+            this.cache.compareAndSet(null, this.origin.get());
+            value = this.cache.get();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.Sources;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Cache of compiled XSL stylesheets.
+ *
+ * <p>All instances of {@link XSLTemplates}, unless configured otherwise,
+ * use the same {@link #SHARED} cache. This is why the same stylesheet,
+ * loaded twice, for example by two instances of {@link StClasspath} or by
+ * {@link TrClasspath} in two different trains, is compiled only once.
+ * Stylesheets are identified by their system IDs (usually URLs), SHA-256
+ * hashes of their content, and sources which resolve their includes.
+ * Parameters of stylesheets don't matter here, since they are given to
+ * transformers, not to compiled templates: the same compiled templates
+ * serve all parameters.</p>
+ *
+ * <p>The cache also remembers the hashes of stylesheets together with
+ * all stylesheets they include or import, which make their
+ * {@link Signature}s, so that the same stylesheet, loaded again, for
+ * example by a train rebuilt for every pass, doesn't have to find and
+ * read its includes again. Just like compiled templates, the hashes
+ * don't notice changes in the included stylesheets.</p>
+ *
+ * <p>The cache is bounded by the number of stylesheets and by their total
+ * length in characters. When any of the limits is exceeded, least recently
+ * used stylesheets are forgotten. The cache counts its hits, misses,
+ * and evictions, which you may want to report somewhere.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+public final class TemplatesCache {
+
+    /**
+     * The cache shared by all stylesheets in this JVM.
+     */
+    public static final TemplatesCache SHARED = new TemplatesCache(256);
+
+    /**
+     * Compiled templates.
+     */
+    private final Lru<TemplatesCache.Key, Compiled> lru;
+
+    /**
+     * Hashes of stylesheets with all their includes.
+     */
+    private final Lru<TemplatesCache.Key, String> prints;
+
+    /**
+     * Ctor.
+     * @param entries Max number of stylesheets to keep
+     */
+    public TemplatesCache(final int entries) {
+        this(entries, Long.MAX_VALUE);
+    }
+
+    /**
+     * Ctor.
+     * @param entries Max number of stylesheets to keep
+     * @param chars Max total length of all stylesheets to keep, in characters
+     */
+    public TemplatesCache(final int entries, final long chars) {
+        this.lru = new Lru<>(entries, chars, (key, tpls) -> key.length());
+        this.prints = new Lru<>(entries, chars, (key, hash) -> key.length());
+    }
+
+    /**
+     * How many times compiled templates were found in the cache.
+     * @return Total number of hits
+     */
+    public long hits() {
+        return this.lru.hits();
+    }
+
+    /**
+     * How many times stylesheets had to be compiled.
+     * @return Total number of misses
+     */
+    public long misses() {
+        return this.lru.misses();
+    }
+
+    /**
+     * How many compiled stylesheets were forgotten.
+     * @return Total number of evictions
+     */
+    public long evictions() {
+        return this.lru.evictions();
+    }
+
+    /**
+     * How many compiled stylesheets are in the cache now.
+     * @return Number of stylesheets
+     */
+    public int size() {
+        return this.lru.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "%d stylesheet(s) of %d chars, %d hit(s), %d miss(es), %d eviction(s)",
+            this.lru.size(), this.lru.weight(), this.lru.hits(),
+            this.lru.misses(), this.lru.evictions()
+        );
+    }
+
+    /**
+     * Get compiled templates from the cache, or compile them.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes
+     * @return The templates
+     */
+    Compiled templates(final String text, final String sid, final Sources srcs) {
+        return this.lru.get(
+            new TemplatesCache.Key(text, sid, srcs),
+            new TemplatesOf(text, sid, srcs)
+        );
+    }
+
+    /**
+     * Get the hash of a stylesheet with all its includes from the cache,
+     * or calculate it.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes
+     * @return The hash, in hex, empty if its includes can't be read,
+     *  or it reads other documents, see {@link Includes}
+     */
+    String print(final String text, final String sid, final Sources srcs) {
+        return this.prints.get(
+            new TemplatesCache.Key(text, sid, srcs),
+            () -> {
+                final String incs = new Includes(srcs).closure(text, sid);
+                String hash = "";
+                if (!incs.isEmpty()) {
+                    hash = Signature.sha(text, sid, incs);
+                }
+                return hash;
+            }
+        );
+    }
+
+    /**
+     * The key of a stylesheet in the cache.
+     *
+     * @since 0.23.0
+     */
+    private static final class Key {
+
+        /**
+         * SHA-256 of the content.
+         */
+        private final byte[] hash;
+
+        /**
+         * Length of the content.
+         */
+        private final long size;
+
+        /**
+         * System ID.
+         */
+        private final String base;
+
+        /**
+         * Sources.
+         */
+        private final Sources sources;
+
+        /**
+         * Ctor.
+         * @param text The text of the stylesheet
+         * @param sid The system ID of the stylesheet
+         * @param srcs The sources to resolve includes
+         */
+        Key(final String text, final String sid, final Sources srcs) {
+            this.hash = TemplatesCache.Key.sha(text);
+            this.size = text.length();
+            this.base = sid;
+            this.sources = srcs;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            final boolean same;
+            if (this == obj) {
+                same = true;
+            } else if (obj instanceof TemplatesCache.Key) {
+                final TemplatesCache.Key key = (TemplatesCache.Key) obj;
+                same = Arrays.equals(this.hash, key.hash)
+                    && this.base.equals(key.base)
+                    && this.sources.equals(key.sources);
+            } else {
+                same = false;
+            }
+            return same;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(Arrays.hashCode(this.hash), this.base, this.sources);
+        }
+
+        /**
+         * Length of the content.
+         * @return Length in characters
+         */
+        long length() {
+            return this.size;
+        }
+
+        /**
+         * Calculate SHA-256 of the text.
+         * @param text The text
+         * @return The hash
+         */
+        private static byte[] sha(final String text) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(
+                    text.getBytes(StandardCharsets.UTF_8)
+                );
+            } catch (final NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
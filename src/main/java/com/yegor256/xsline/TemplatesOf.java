@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.Sources;
+import java.io.StringReader;
+import java.util.function.Supplier;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * JAXP templates compiled from the text of XSL stylesheet.
+ *
+ * <p>Every call to {@link #get()} compiles the stylesheet again,
+ * by a new {@link TransformerFactory}, which stays with the templates,
+ * see {@link Compiled}. Decorate it with {@link Sticky} in order
+ * to compile only once.</p>
+ *
+ * @since 0.23.0
+ */
+final class TemplatesOf implements Supplier<Compiled> {
+
+    /**
+     * The text of the stylesheet.
+     */
+    private final String xsl;
+
+    /**
+     * The system ID of the stylesheet.
+     */
+    private final String base;
+
+    /**
+     * Sources, to resolve includes.
+     */
+    private final Sources sources;
+
+    /**
+     * Ctor.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes
+     */
+    TemplatesOf(final String text, final String sid, final Sources srcs) {
+        this.xsl = text;
+        this.base = sid;
+        this.sources = srcs;
+    }
+
+    @Override
+    public Compiled get() {
+        final TransformerFactory factory = TransformerFactory.newInstance();
+        final Errors errors = new Errors();
+        factory.setURIResolver(this.sources);
+        factory.setErrorListener(errors);
+        try {
+            return new Compiled(
+                factory.newTemplates(
+                    new StreamSource(new StringReader(this.xsl), this.base)
+                ),
+                factory
+            );
+        } catch (final TransformerConfigurationException ex) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Failed to compile '%s' by %s: %s",
+                    this.base, factory.getClass().getName(), errors.summary(ex)
+                ),
+                ex
+            );
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+/**
+ * Train that remembers outputs of all {@link Shift}s.
+ *
+ * <p>It is a decorator of an existing {@link Train}. The decorator makes
+ * sure that all shifts in the train will be decorated with {@link StCached},
+ * which will take outputs from {@link ShiftCache}, if the same documents
+ * were already seen. Only stylesheets are cached, all other shifts are
+ * applied as usual, see {@link StCached}. If no cache is given to the
+ * constructor, the train has its own one, shared by all its shifts.</p>
+ *
+ * @since 0.23.0
+ */
+public final class TrCached extends TrEnvelope {
+
+    /**
+     * Ctor.
+     * @param train Original
+     */
+    public TrCached(final Train<Shift> train) {
+        this(train, new ShiftCache());
+    }
+
+    /**
+     * Ctor.
+     * @param train Original
+     * @param cache The cache
+     */
+    public TrCached(final Train<Shift> train, final ShiftCache cache) {
+        super(
+            new TrLambda(
+                train,
+                x -> new StCached(x, cache)
+            )
+        );
+    }
+
+}
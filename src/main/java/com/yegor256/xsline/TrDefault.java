@@ -27,7 +27,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 /**
  * Default train.
@@ -39,6 +38,11 @@ import java.util.LinkedList;
  * .with(new StXSL(new XSLDocument("&lt;stylesheet&gt;...")))
  * .with(new StXSL(new XSLDocument("&lt;stylesheet&gt;...")));</pre>
  *
+ * <p>The train is persistent: {@link #with(Object)} takes constant time,
+ * because the new train shares all existing elements with the old one,
+ * instead of copying them. Only the elements given to the constructor
+ * are copied, once, when the first element is added.</p>
+ *
  * @param <T> Type of element
  * @since 0.1.0
  */
@@ -75,12 +79,17 @@ public final class TrDefault<T> implements Train<T> {
 
     @Override
     public Train<T> with(final T element) {
-        final Collection<T> items = new LinkedList<>();
-        for (final T item : this.list) {
-            items.add(item);
+        final Chain<T> chain;
+        if (this.list instanceof Chain) {
+            chain = ((Chain<T>) this.list).with(element);
+        } else {
+            final Collection<T> items = new ArrayList<>(0);
+            for (final T item : this.list) {
+                items.add(item);
+            }
+            chain = new Chain<>(items, element);
         }
-        items.add(element);
-        return new TrDefault<>(items);
+        return new TrDefault<>(chain);
     }
 
     @Override
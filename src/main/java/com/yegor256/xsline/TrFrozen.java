@@ -0,0 +1,210 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Train that resolves all shifts of the original train only once.
+ *
+ * <p>Decorating trains, like {@link TrLambda}, {@link TrLogged},
+ * {@link TrFast}, {@link TrBefore}, or {@link TrAfter}, make new
+ * decorated shifts every time they are iterated, which means on every
+ * {@link Xsline#pass(com.jcabi.xml.XML)}. This one iterates the original
+ * train only when it is iterated for the first time, remembers all
+ * shifts in a flat array, and then returns them from there:</p>
+ *
+ * <pre> XML output = new Xsline(
+ *   new TrFrozen(
+ *     new TrLogged(new TrClasspath&lt;&gt;(...).back())
+ *   )
+ * ).pass(input);</pre>
+ *
+ * <p>Shifts of {@link StSequence} and {@link StOfTrain} without a
+ * predicate are put into the array instead of them, one by one, at any
+ * depth. Each shift still sees the same position as it would without
+ * freezing: positions inside a sequence start from zero, and the shifts
+ * after it are counted as if the sequence took one position. Sequences
+ * with a predicate, and decorated ones, stay as they are.</p>
+ *
+ * <p>The class is thread-safe, if the original train is.</p>
+ *
+ * @since 0.23.0
+ */
+public final class TrFrozen implements Train<Shift> {
+
+    /**
+     * The original train.
+     */
+    private final Train<Shift> origin;
+
+    /**
+     * All shifts of the original train, flat.
+     */
+    private final Supplier<List<Shift>> plan;
+
+    /**
+     * Ctor.
+     * @param train Original
+     */
+    public TrFrozen(final Train<Shift> train) {
+        this.origin = train;
+        this.plan = new Sticky<>(
+            () -> {
+                final List<Shift> items = new ArrayList<>(0);
+                int pos = 0;
+                for (final Shift item : train) {
+                    TrFrozen.add(item, pos, false, items);
+                    ++pos;
+                }
+                return Arrays.asList(items.toArray(new Shift[0]));
+            }
+        );
+    }
+
+    @Override
+    public Train<Shift> with(final Shift element) {
+        return new TrFrozen(this.origin.with(element));
+    }
+
+    @Override
+    public Train<Shift> empty() {
+        return new TrFrozen(this.origin.empty());
+    }
+
+    @Override
+    public Iterator<Shift> iterator() {
+        return this.plan.get().iterator();
+    }
+
+    /**
+     * Put the shift into the plan, or its shifts, if it's a sequence.
+     * @param shift The shift
+     * @param pos Position of the shift in its train or sequence
+     * @param nested Is it inside a sequence?
+     * @param items The plan
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    private static void add(final Shift shift, final int pos,
+        final boolean nested, final List<Shift> items) {
+        int idx = 0;
+        for (final Shift part : TrFrozen.parts(shift)) {
+            if (part == shift && nested) {
+                items.add(new TrFrozen.Placed(shift, pos, true));
+            } else if (part == shift && pos == items.size()) {
+                items.add(shift);
+            } else if (part == shift) {
+                items.add(new TrFrozen.Placed(shift, pos - items.size(), false));
+            } else {
+                TrFrozen.add(part, idx, true, items);
+            }
+            ++idx;
+        }
+    }
+
+    /**
+     * Shifts of the sequence, if the shift is a sequence, which may
+     * be flattened, or the shift itself.
+     * @param shift The shift
+     * @return Shifts
+     */
+    @SuppressWarnings("deprecation")
+    private static Iterable<Shift> parts(final Shift shift) {
+        final Iterable<Shift> parts;
+        if (shift instanceof StSequence) {
+            parts = ((StSequence) shift).shifts();
+        } else if (shift instanceof StOfTrain) {
+            parts = ((StOfTrain) shift).shifts();
+        } else {
+            parts = Collections.singleton(shift);
+        }
+        return parts;
+    }
+
+    /**
+     * Shift, which is not at its original position in the plan.
+     *
+     * @since 0.23.0
+     */
+    static final class Placed implements Shift {
+
+        /**
+         * The shift.
+         */
+        private final Shift origin;
+
+        /**
+         * The position, or the distance to it.
+         */
+        private final int number;
+
+        /**
+         * Is the position fixed?
+         */
+        private final boolean fixed;
+
+        /**
+         * Ctor.
+         * @param shift The shift
+         * @param num The position, or the distance to it
+         * @param fix Is the position fixed, or is it a distance?
+         */
+        Placed(final Shift shift, final int num, final boolean fix) {
+            this.origin = shift;
+            this.number = num;
+            this.fixed = fix;
+        }
+
+        @Override
+        public String uid() {
+            return this.origin.uid();
+        }
+
+        @Override
+        public XML apply(final int position, final XML xml) {
+            final int pos;
+            if (this.fixed) {
+                pos = this.number;
+            } else {
+                pos = position + this.number;
+            }
+            return this.origin.apply(pos, xml);
+        }
+
+        /**
+         * The decorated shift.
+         * @return The shift
+         */
+        Shift decorated() {
+            return this.origin;
+        }
+    }
+}
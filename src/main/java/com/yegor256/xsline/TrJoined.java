@@ -24,7 +24,6 @@
 package com.yegor256.xsline;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -35,9 +34,11 @@ import java.util.List;
  * The class is immutable, you can't add any more Shifts to it.
  *
  * When constructed, an object of this class doesn't touch the encapsulated
- * Trains. Only when you call {@link #iterator()}, all Trains are checked,
- * their Shifts are retrieved, a new collection is built and its iterator
- * is returned.
+ * Trains. Only when you call {@link #iterator()}, an iterator is returned,
+ * which goes through the Trains one by one, lazily, without copying
+ * their Shifts anywhere. If the Trains are decorated and you want
+ * the decorated Shifts to be made only once, wrap the joined train
+ * into {@link TrFrozen}.
  *
  * @param <T> Type of elements
  * @since 0.16.0
@@ -93,12 +94,6 @@ public final class TrJoined<T> implements Train<T> {
 
     @Override
     public Iterator<T> iterator() {
-        final Collection<T> shifts = new LinkedList<>();
-        for (final Train<T> train : this.chain) {
-            for (final T shift : train) {
-                shifts.add(shift);
-            }
-        }
-        return shifts.iterator();
+        return new Joined<>(this.chain.iterator());
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.util.Iterator;
+
+/**
+ * Train that runs its XSL stylesheets natively in Saxon.
+ *
+ * <p>Normally, XSL shifts give each other DOM documents, which Saxon
+ * has to translate into its own trees and back on every shift. This
+ * decorator replaces each {@link StClasspath} and each {@link StXSL} with
+ * {@link XSLTemplates} inside by a shift that runs the stylesheet through
+ * Saxon s9api. Documents between such shifts stay Saxon trees
+ * (TinyTrees). They turn into DOM only when somebody needs them this
+ * way, for example an {@link StLambda} or {@link StSchema} in the
+ * train, or the code that receives the result of
+ * {@link Xsline#pass(com.jcabi.xml.XML)}:</p>
+ *
+ * <pre> XML output = new Xsline(
+ *   new TrSaxon(
+ *     new TrClasspath&lt;&gt;("/first.xsl", "/second.xsl").back()
+ *   )
+ * ).pass(input);</pre>
+ *
+ * <p>Saxon-HE must be in classpath, since this library doesn't
+ * depend on it at runtime. Any other shift, including decorated ones,
+ * stays as it is. For this reason, put {@link TrSaxon} inside of other
+ * train decorators, not outside of them.</p>
+ *
+ * @since 0.23.0
+ */
+public final class TrSaxon implements Train<Shift> {
+
+    /**
+     * The original train.
+     */
+    private final Train<Shift> origin;
+
+    /**
+     * Ctor.
+     */
+    public TrSaxon() {
+        this(new TrDefault<>());
+    }
+
+    /**
+     * Ctor.
+     * @param train Original
+     */
+    public TrSaxon(final Train<Shift> train) {
+        this.origin = train;
+    }
+
+    @Override
+    public Train<Shift> with(final Shift element) {
+        return new TrSaxon(this.origin.with(element));
+    }
+
+    @Override
+    public Train<Shift> empty() {
+        return new TrSaxon(this.origin.empty());
+    }
+
+    @Override
+    public Iterator<Shift> iterator() {
+        return new Alterator<>(
+            this.origin.iterator(),
+            shift -> {
+                final Shift out;
+                if (shift instanceof Stylesheet
+                    && ((Stylesheet) shift).xsl() instanceof XSLTemplates) {
+                    out = new StSaxon((Stylesheet) shift);
+                } else {
+                    out = shift;
+                }
+                return out;
+            }
+        );
+    }
+}
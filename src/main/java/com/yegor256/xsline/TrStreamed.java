@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+/**
+ * Train that joins neighbouring XSL stylesheets into streams of SAX events.
+ *
+ * <p>Normally, each XSL shift turns its output into a DOM, which the
+ * next shift reads. When a few XSL shifts stand next to each other, these
+ * DOM documents are built only to be thrown away right after. This
+ * decorator finds such runs of shifts and replaces each of them with one
+ * shift, which sends the output of one stylesheet directly into the next
+ * one through JAXP {@link javax.xml.transform.sax.TransformerHandler}.
+ * A DOM is built only where the run ends, for example because the next
+ * shift is an {@link StLambda} or an {@link StSchema}:</p>
+ *
+ * <pre> XML output = new Xsline(
+ *   new TrStreamed(
+ *     new TrClasspath&lt;&gt;("/first.xsl", "/second.xsl", "/third.xsl").back()
+ *   )
+ * ).pass(input);</pre>
+ *
+ * <p>Only {@link StClasspath} and {@link StXSL} with {@link XSLTemplates}
+ * inside can be joined. Any other shift, including decorated ones, for
+ * example by {@link TrLogged}, stays as it is. For this reason, put
+ * {@link TrStreamed} inside of other train decorators, not outside of them.
+ * A joined shift has all UIDs of its stylesheets in its own UID, separated
+ * by a plus sign.</p>
+ *
+ * <p>Positions of shifts stay as they were. The joined shift takes the
+ * position of the first stylesheet of the run, and is followed by empty
+ * shifts, one per each other stylesheet of the run, which take their
+ * positions and return their input as is. Their UIDs are the UIDs of
+ * the stylesheets they stand for, prefixed by a plus sign.</p>
+ *
+ * @since 0.23.0
+ */
+public final class TrStreamed implements Train<Shift> {
+
+    /**
+     * The original train.
+     */
+    private final Train<Shift> origin;
+
+    /**
+     * Ctor.
+     */
+    public TrStreamed() {
+        this(new TrDefault<>());
+    }
+
+    /**
+     * Ctor.
+     * @param train Original
+     */
+    public TrStreamed(final Train<Shift> train) {
+        this.origin = train;
+    }
+
+    @Override
+    public Train<Shift> with(final Shift element) {
+        return new TrStreamed(this.origin.with(element));
+    }
+
+    @Override
+    public Train<Shift> empty() {
+        return new TrStreamed(this.origin.empty());
+    }
+
+    @Override
+    public Iterator<Shift> iterator() {
+        final Collection<Shift> shifts = new LinkedList<>();
+        final Collection<Stylesheet> run = new LinkedList<>();
+        for (final Shift shift : this.origin) {
+            if (shift instanceof Stylesheet
+                && ((Stylesheet) shift).xsl() instanceof XSLTemplates) {
+                run.add((Stylesheet) shift);
+            } else {
+                TrStreamed.flush(run, shifts);
+                shifts.add(shift);
+            }
+        }
+        TrStreamed.flush(run, shifts);
+        return shifts.iterator();
+    }
+
+    /**
+     * Move the run of stylesheets to the list of shifts.
+     * @param run The run, which will be empty after this call
+     * @param shifts The shifts
+     */
+    private static void flush(final Collection<Stylesheet> run,
+        final Collection<Shift> shifts) {
+        if (run.size() == 1) {
+            shifts.addAll(run);
+        } else if (run.size() > 1) {
+            shifts.add(new StStreamed(run));
+            final Iterator<Stylesheet> rest = run.iterator();
+            rest.next();
+            while (rest.hasNext()) {
+                shifts.add(new TrStreamed.Slot(rest.next()));
+            }
+        }
+        run.clear();
+    }
+
+    /**
+     * Position of a stylesheet, which was joined with the previous ones.
+     *
+     * @since 0.23.0
+     */
+    static final class Slot implements Shift {
+
+        /**
+         * The stylesheet, which is already applied.
+         */
+        private final Shift sheet;
+
+        /**
+         * Ctor.
+         * @param shift The stylesheet
+         */
+        Slot(final Shift shift) {
+            this.sheet = shift;
+        }
+
+        @Override
+        public String uid() {
+            return String.format("+%s", this.sheet.uid());
+        }
+
+        @Override
+        public XML apply(final int position, final XML xml) {
+            return xml;
+        }
+
+        /**
+         * The stylesheet this position is taken by.
+         * @return The stylesheet
+         */
+        Shift original() {
+            return this.sheet;
+        }
+    }
+}
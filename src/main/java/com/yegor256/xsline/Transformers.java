@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+
+/**
+ * Bounded pool of transformers, made of the same templates.
+ *
+ * <p>Making a new {@link Transformer} costs some time, which is noticeable
+ * when documents are small. This pool keeps transformers that were
+ * already used, {@link Transformer#reset()} them, and gives them out
+ * again. When the pool is empty, a new transformer is made. When
+ * the pool is full, returned transformers are forgotten. Thus, there
+ * are never more idle transformers than the bound, while busy ones
+ * are not limited at all.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+final class Transformers {
+
+    /**
+     * The templates.
+     */
+    private final Supplier<? extends Templates> templates;
+
+    /**
+     * Idle transformers.
+     */
+    private final BlockingQueue<Transformer> idle;
+
+    /**
+     * Ctor.
+     * @param tpls The templates
+     */
+    Transformers(final Supplier<? extends Templates> tpls) {
+        this(tpls, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ctor.
+     * @param tpls The templates
+     * @param max Max number of idle transformers to keep
+     */
+    Transformers(final Supplier<? extends Templates> tpls, final int max) {
+        this.templates = tpls;
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, max));
+    }
+
+    /**
+     * Take an idle transformer or make a new one.
+     * @return The transformer, in its original configuration
+     * @throws TransformerConfigurationException If fails to make a new one
+     */
+    Transformer take() throws TransformerConfigurationException {
+        Transformer trans = this.idle.poll();
+        if (trans == null) {
+            trans = this.templates.get().newTransformer();
+        }
+        return trans;
+    }
+
+    /**
+     * Return the transformer back to the pool, when it's not needed anymore.
+     * @param trans The transformer, taken from this pool
+     * @return TRUE if it was kept in the pool, FALSE if forgotten
+     */
+    boolean give(final Transformer trans) {
+        return Transformers.reset(trans) && this.idle.offer(trans);
+    }
+
+    /**
+     * How many idle transformers are in the pool now.
+     * @return Total
+     */
+    int size() {
+        return this.idle.size();
+    }
+
+    /**
+     * Bring the transformer back to its original configuration.
+     *
+     * <p>Not all implementations forget parameters on
+     * {@link Transformer#reset()}, that's why they are cleared
+     * explicitly.</p>
+     *
+     * @param trans The transformer
+     * @return TRUE if it was reset and may be used again
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static boolean reset(final Transformer trans) {
+        boolean done;
+        try {
+            trans.clearParameters();
+            trans.reset();
+            done = true;
+        } catch (final UnsupportedOperationException ex) {
+            done = false;
+        }
+        return done;
+    }
+}
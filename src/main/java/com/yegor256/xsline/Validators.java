@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.Validator;
+import org.w3c.dom.Node;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+
+/**
+ * Bounded pool of validators, made of the same compiled XSD schema.
+ *
+ * <p>The schema is compiled only once, when it's needed for the first
+ * time. Then, validators are made of it, used, {@link Validator#reset()},
+ * and kept in the pool for the next validation. Like in
+ * {@link Transformers}, there are never more idle validators than
+ * the bound, while busy ones are not limited.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+final class Validators {
+
+    /**
+     * The schema.
+     */
+    private final Supplier<Schema> schema;
+
+    /**
+     * Idle validators.
+     */
+    private final BlockingQueue<Validator> idle;
+
+    /**
+     * Ctor.
+     * @param xsd The schema
+     */
+    Validators(final Supplier<Schema> xsd) {
+        this(xsd, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ctor.
+     * @param xsd The schema
+     * @param max Max number of idle validators to keep
+     */
+    Validators(final Supplier<Schema> xsd, final int max) {
+        this.schema = new Sticky<>(xsd);
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, max));
+    }
+
+    /**
+     * Validate the node and return all violations found.
+     * @param node The node
+     * @return Violations, empty if the node is valid
+     */
+    Collection<SAXParseException> validate(final Node node) {
+        return this.validate(node, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validate the node and stop after the given number of violations.
+     *
+     * <p>The rest of the node is not even visited, when the number of
+     * violations found reaches the limit.</p>
+     *
+     * @param node The node
+     * @param max Max number of violations to find
+     * @return Violations, empty if the node is valid
+     */
+    Collection<SAXParseException> validate(final Node node, final int max) {
+        return this.validate(new DOMSource(node), max);
+    }
+
+    /**
+     * Validate the source and stop after the given number of violations.
+     * @param src The source
+     * @param max Max number of violations to find
+     * @return Violations, empty if the source is valid
+     */
+    Collection<SAXParseException> validate(final Source src, final int max) {
+        final Collection<SAXParseException> violations =
+            new CopyOnWriteArrayList<>();
+        Validator validator = this.idle.poll();
+        if (validator == null) {
+            validator = this.schema.get().newValidator();
+        }
+        validator.setErrorHandler(new Validators.Collecting(violations, max));
+        try {
+            validator.validate(src);
+            this.release(validator);
+        } catch (final Validators.Enough ex) {
+            validator.reset();
+        } catch (final SAXException | IOException ex) {
+            throw new IllegalStateException("Failed to validate XML", ex);
+        }
+        return violations;
+    }
+
+    /**
+     * How many idle validators are in the pool now.
+     * @return Total
+     */
+    int size() {
+        return this.idle.size();
+    }
+
+    /**
+     * Reset the validator and return it to the pool, if there is space.
+     * @param validator The validator
+     * @return TRUE if it was kept in the pool
+     */
+    private boolean release(final Validator validator) {
+        validator.reset();
+        return this.idle.offer(validator);
+    }
+
+    /**
+     * Handler that collects errors, until there are enough of them.
+     *
+     * @since 0.23.0
+     */
+    private static final class Collecting implements ErrorHandler {
+
+        /**
+         * Where to collect.
+         */
+        private final Collection<SAXParseException> errors;
+
+        /**
+         * Max number of errors to collect.
+         */
+        private final int max;
+
+        /**
+         * Ctor.
+         * @param errs Where to collect
+         * @param limit Max number of errors to collect
+         */
+        Collecting(final Collection<SAXParseException> errs, final int limit) {
+            this.errors = errs;
+            this.max = limit;
+        }
+
+        @Override
+        public void warning(final SAXParseException error)
+            throws Validators.Enough {
+            this.add(error);
+        }
+
+        @Override
+        public void error(final SAXParseException error)
+            throws Validators.Enough {
+            this.add(error);
+        }
+
+        @Override
+        public void fatalError(final SAXParseException error)
+            throws Validators.Enough {
+            this.add(error);
+        }
+
+        /**
+         * Add the error and stop validation, if it's enough.
+         * @param error The error
+         * @throws Validators.Enough If there are enough errors already
+         */
+        private void add(final SAXParseException error)
+            throws Validators.Enough {
+            this.errors.add(error);
+            if (this.errors.size() >= this.max) {
+                throw new Validators.Enough();
+            }
+        }
+    }
+
+    /**
+     * Thrown when enough errors are found and validation must stop.
+     *
+     * @since 0.23.0
+     */
+    private static final class Enough extends SAXException {
+
+        /**
+         * Serialization marker.
+         */
+        private static final long serialVersionUID = 0x7e4a3b12c5d1f9a0L;
+
+        /**
+         * Ctor.
+         */
+        Enough() {
+            super("Enough violations found");
+        }
+    }
+}
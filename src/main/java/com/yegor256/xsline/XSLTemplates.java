@@ -0,0 +1,448 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.Sources;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XSL;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Result;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Document;
+
+/**
+ * XSL stylesheet, which is compiled only once.
+ *
+ * <p>Unlike {@link com.jcabi.xml.XSLDocument}, which compiles its stylesheet
+ * every time {@link #transform(XML)} is called, this class compiles it
+ * into JAXP {@link Templates} when it is used for the first time and then
+ * only makes new transformers out of them. Parameters provided through
+ * {@link #with(String, Object)} don't cause recompilation, since they
+ * are given to transformers, not to the templates.</p>
+ *
+ * <p>Transformers are not thrown away after use, but reset and kept in a
+ * small pool, one per compiled stylesheet, shared by all its copies made
+ * by {@link #with(String, Object)}. The pool keeps no more idle
+ * transformers than there are processors, so threads that transform
+ * small documents in parallel rarely make new ones.</p>
+ *
+ * <p>Compiled templates are kept in {@link TemplatesCache#SHARED},
+ * unless another cache is provided to the constructor. Because of that,
+ * the same stylesheet loaded twice is compiled only once.</p>
+ *
+ * <p>The class is immutable and thread-safe.</p>
+ *
+ * <p>Stylesheets of this type, when used inside {@link StXSL} or
+ * {@link StClasspath}, may be joined into a single stream of SAX events
+ * by {@link TrStreamed}.</p>
+ *
+ * @since 0.23.0
+ * @checkstyle AbbreviationAsWordInNameCheck (5 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class XSLTemplates implements XSL {
+
+    /**
+     * The text of the stylesheet.
+     */
+    private final String xsl;
+
+    /**
+     * The base of the stylesheet (its system ID).
+     */
+    private final String base;
+
+    /**
+     * Sources, to resolve includes and documents.
+     */
+    private final Sources sources;
+
+    /**
+     * Parameters to give to transformers.
+     */
+    private final Map<String, Object> params;
+
+    /**
+     * The cache of compiled templates.
+     */
+    private final TemplatesCache cache;
+
+    /**
+     * The templates, compiled once.
+     */
+    private final Supplier<Compiled> compiled;
+
+    /**
+     * The hash of the stylesheet with all its includes, found once.
+     */
+    private final Supplier<String> digest;
+
+    /**
+     * Transformers made of the templates, ready to be used again.
+     */
+    private final Transformers pool;
+
+    /**
+     * Ctor.
+     * @param url The location of the stylesheet
+     * @throws IOException If fails to read
+     */
+    public XSLTemplates(final URL url) throws IOException {
+        this(url, url.toString());
+    }
+
+    /**
+     * Ctor.
+     * @param url The location of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @throws IOException If fails to read
+     */
+    public XSLTemplates(final URL url, final String sid) throws IOException {
+        this(XSLTemplates.read(url), sid);
+    }
+
+    /**
+     * Ctor.
+     * @param text The text of the stylesheet
+     */
+    public XSLTemplates(final String text) {
+        this(text, "/");
+    }
+
+    /**
+     * Ctor.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     */
+    public XSLTemplates(final String text, final String sid) {
+        this(text, sid, Sources.DUMMY);
+    }
+
+    /**
+     * Ctor.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes and documents
+     */
+    public XSLTemplates(final String text, final String sid, final Sources srcs) {
+        this(text, sid, srcs, TemplatesCache.SHARED);
+    }
+
+    /**
+     * Ctor.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes and documents
+     * @param tcache The cache of compiled templates
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public XSLTemplates(final String text, final String sid,
+        final Sources srcs, final TemplatesCache tcache) {
+        this(text, sid, srcs, new HashMap<>(0), tcache);
+    }
+
+    /**
+     * Ctor.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes and documents
+     * @param map The parameters
+     * @param tcache The cache of compiled templates
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private XSLTemplates(final String text, final String sid,
+        final Sources srcs, final Map<String, Object> map,
+        final TemplatesCache tcache) {
+        this(
+            text, sid, srcs, map, tcache,
+            new Sticky<>(() -> tcache.templates(text, sid, srcs))
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes and documents
+     * @param map The parameters
+     * @param tcache The cache of compiled templates
+     * @param tpls The templates
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private XSLTemplates(final String text, final String sid,
+        final Sources srcs, final Map<String, Object> map,
+        final TemplatesCache tcache, final Supplier<Compiled> tpls) {
+        this(
+            text, sid, srcs, map, tcache, tpls, new Transformers(tpls),
+            new Sticky<>(() -> tcache.print(text, sid, srcs))
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param text The text of the stylesheet
+     * @param sid The system ID of the stylesheet
+     * @param srcs The sources to resolve includes and documents
+     * @param map The parameters
+     * @param tcache The cache of compiled templates
+     * @param tpls The templates
+     * @param trans The pool of transformers
+     * @param hash The hash of the stylesheet with all its includes
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private XSLTemplates(final String text, final String sid,
+        final Sources srcs, final Map<String, Object> map,
+        final TemplatesCache tcache, final Supplier<Compiled> tpls,
+        final Transformers trans, final Supplier<String> hash) {
+        this.xsl = text;
+        this.base = sid;
+        this.sources = srcs;
+        this.params = map;
+        this.cache = tcache;
+        this.compiled = tpls;
+        this.pool = trans;
+        this.digest = hash;
+    }
+
+    @Override
+    public XML transform(final XML xml) {
+        final Document target;
+        try {
+            target = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder().newDocument();
+        } catch (final ParserConfigurationException ex) {
+            throw new IllegalArgumentException(
+                "Failed to create new XML document", ex
+            );
+        }
+        this.transformInto(xml, new DOMResult(target));
+        return new MemoXML(target);
+    }
+
+    @Override
+    public String applyTo(final XML xml) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        this.transformInto(xml, new StreamResult(baos));
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public XSL with(final Sources srcs) {
+        return new XSLTemplates(
+            this.xsl, this.base, srcs, this.params, this.cache
+        );
+    }
+
+    @Override
+    public XSL with(final String name, final Object value) {
+        final Map<String, Object> map = new HashMap<>(this.params);
+        map.put(name, value);
+        return new XSLTemplates(
+            this.xsl, this.base, this.sources, map, this.cache,
+            this.compiled, this.pool, this.digest
+        );
+    }
+
+    @Override
+    public String toString() {
+        return this.xsl;
+    }
+
+    /**
+     * Give all parts of the stylesheet to the function.
+     *
+     * <p>This may be useful for those who want to compile the stylesheet
+     * in their own way, or want to know what it is made of.</p>
+     *
+     * @param fun The function
+     * @param <T> Type of result
+     * @return Whatever the function returns
+     */
+    <T> T parts(final XSLTemplates.Parts<T> fun) {
+        return fun.apply(this.xsl, this.base, this.sources, this.params);
+    }
+
+    /**
+     * The hash of the stylesheet together with all stylesheets it includes
+     * or imports, without parameters.
+     *
+     * <p>It is found only once, in the cache of templates, so copies of the
+     * same stylesheet, even those made by different instances of this
+     * class, don't read their includes again.</p>
+     *
+     * @return The hash, in hex, empty if it can't be identified
+     *  by its content, see {@link Includes}
+     */
+    String content() {
+        return this.digest.get();
+    }
+
+    /**
+     * Take a transformer from the pool or make a new one.
+     *
+     * <p>It doesn't have to be returned to the pool.</p>
+     *
+     * @param errors The listener of errors
+     * @return Transformer, with all parameters set
+     */
+    Transformer transformer(final Errors errors) {
+        final Transformer trans;
+        try {
+            trans = this.pool.take();
+        } catch (final TransformerConfigurationException ex) {
+            throw new IllegalArgumentException(
+                String.format("Failed to create transformer for '%s'", this.base),
+                ex
+            );
+        }
+        this.configure(trans, errors);
+        return trans;
+    }
+
+    /**
+     * Can it make handlers of SAX events?
+     * @return TRUE if {@link #handler(Errors)} may be used
+     */
+    boolean streams() {
+        return this.compiled.get().streams();
+    }
+
+    /**
+     * Make a new handler of SAX events.
+     *
+     * <p>The handler is made by the same factory that compiled
+     * the stylesheet, see {@link Compiled}.</p>
+     *
+     * @param errors The listener of errors
+     * @return Handler, with all parameters set
+     */
+    TransformerHandler handler(final Errors errors) {
+        final TransformerHandler handler;
+        try {
+            handler = this.compiled.get().handler();
+        } catch (final TransformerConfigurationException ex) {
+            throw new IllegalArgumentException(
+                String.format("Failed to create SAX handler for '%s'", this.base),
+                ex
+            );
+        }
+        this.configure(handler.getTransformer(), errors);
+        return handler;
+    }
+
+    /**
+     * Transform into the result.
+     * @param xml The XML
+     * @param result The result
+     */
+    private void transformInto(final XML xml, final Result result) {
+        final Errors errors = new Errors();
+        final Transformer trans = this.transformer(errors);
+        try {
+            trans.transform(MemoXML.source(xml), result);
+            this.pool.give(trans);
+        } catch (final TransformerException ex) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Failed to transform by %s: %s",
+                    trans.getClass().getName(),
+                    errors.summary(ex)
+                ),
+                ex
+            );
+        }
+    }
+
+    /**
+     * Configure the transformer.
+     * @param trans The transformer
+     * @param errors The listener of errors
+     */
+    private void configure(final Transformer trans, final Errors errors) {
+        trans.setErrorListener(errors);
+        if (trans.getClass().getName().startsWith("net.sf.saxon.")) {
+            Messages.install(trans);
+        }
+        trans.setURIResolver(this.sources);
+        for (final Map.Entry<String, Object> ent : this.params.entrySet()) {
+            trans.setParameter(ent.getKey(), ent.getValue());
+        }
+    }
+
+    /**
+     * Read the entire content of the URL.
+     * @param url The URL
+     * @return The content, in UTF-8
+     * @throws IOException If fails
+     */
+    private static String read(final URL url) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (InputStream input = url.openStream()) {
+            final byte[] buf = new byte[8192];
+            while (true) {
+                final int len = input.read(buf);
+                if (len < 0) {
+                    break;
+                }
+                baos.write(buf, 0, len);
+            }
+        }
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Function of all parts of a stylesheet.
+     *
+     * @param <T> Type of result
+     * @since 0.23.0
+     */
+    @FunctionalInterface
+    interface Parts<T> {
+        /**
+         * Apply it.
+         * @param text The text of the stylesheet
+         * @param sid The system ID of the stylesheet
+         * @param srcs The sources to resolve includes and documents
+         * @param params The parameters
+         * @return The result
+         * @checkstyle ParameterNumberCheck (3 lines)
+         */
+        T apply(String text, String sid, Sources srcs, Map<String, Object> params);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import net.sf.saxon.s9api.DOMDestination;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.streams.Steps;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.SAXParseException;
+
+/**
+ * XML document, which is a Saxon tree inside.
+ *
+ * <p>The document stays a Saxon {@link XdmNode} (usually a TinyTree),
+ * until somebody needs it as a DOM. Then, and only once, it is copied
+ * into a DOM, and all methods of {@link XML} work with that copy.
+ * {@link StSaxon} takes the tree as it is, without any copying.</p>
+ *
+ * @since 0.23.0
+ * @checkstyle AbbreviationAsWordInNameCheck (5 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class XdmXML implements XML {
+
+    /**
+     * The tree.
+     */
+    private final XdmNode tree;
+
+    /**
+     * The same tree, as a DOM.
+     */
+    private final Supplier<XML> dom;
+
+    /**
+     * The SHA-256 fingerprint of the tree.
+     */
+    private final Supplier<String> print;
+
+    /**
+     * Ctor.
+     * @param node The tree
+     */
+    XdmXML(final XdmNode node) {
+        this(node, new Sticky<>(() -> XdmXML.asDom(node)));
+    }
+
+    /**
+     * Ctor.
+     * @param node The tree
+     * @param xml The same tree, as a DOM
+     */
+    private XdmXML(final XdmNode node, final Supplier<XML> xml) {
+        this(
+            node, xml,
+            new Sticky<>(
+                () -> new Fingerprint(xml.get().inner(), "SHA-256").toString()
+            )
+        );
+    }
+
+    /**
+     * Ctor.
+     * @param node The tree
+     * @param xml The same tree, as a DOM
+     * @param sha Its fingerprint
+     */
+    private XdmXML(final XdmNode node, final Supplier<XML> xml,
+        final Supplier<String> sha) {
+        this.tree = node;
+        this.dom = xml;
+        this.print = sha;
+    }
+
+    @Override
+    public List<String> xpath(final String query) {
+        return this.dom.get().xpath(query);
+    }
+
+    @Override
+    public List<XML> nodes(final String query) {
+        return this.dom.get().nodes(query);
+    }
+
+    @Override
+    public XML registerNs(final String prefix, final Object uri) {
+        return this.dom.get().registerNs(prefix, uri);
+    }
+
+    @Override
+    public XML merge(final NamespaceContext context) {
+        return this.dom.get().merge(context);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public Node node() {
+        return this.dom.get().node();
+    }
+
+    @Override
+    public Node inner() {
+        return this.dom.get().inner();
+    }
+
+    @Override
+    public Node deepCopy() {
+        return this.dom.get().deepCopy();
+    }
+
+    @Override
+    public Collection<SAXParseException> validate(final LSResourceResolver resolver) {
+        return this.dom.get().validate(resolver);
+    }
+
+    @Override
+    public Collection<SAXParseException> validate(final XML xsd) {
+        return this.dom.get().validate(xsd);
+    }
+
+    @Override
+    public String toString() {
+        return this.dom.get().toString();
+    }
+
+    /**
+     * The tree inside.
+     * @return The tree
+     */
+    XdmNode xdm() {
+        return this.tree;
+    }
+
+    /**
+     * The SHA-256 fingerprint, calculated only once.
+     * @return The fingerprint, in hex
+     */
+    String fingerprint() {
+        return this.print.get();
+    }
+
+    /**
+     * The same tree, but without the DOM made out of it, if any.
+     *
+     * <p>The tree may be read by many threads, while the DOM may not.
+     * The new document makes its own DOM, if it needs one. The
+     * fingerprint is shared.</p>
+     *
+     * @return The document
+     */
+    XML detached() {
+        return new XdmXML(
+            this.tree, new Sticky<>(() -> XdmXML.asDom(this.tree)), this.print
+        );
+    }
+
+    /**
+     * Number of nodes in the tree, without attributes.
+     * @return How many nodes are there
+     */
+    long size() {
+        return this.tree.select(Steps.descendantOrSelf()).count();
+    }
+
+    /**
+     * Copy the tree into a DOM.
+     * @param node The tree
+     * @return The DOM
+     */
+    private static XML asDom(final XdmNode node) {
+        try {
+            final Document doc = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder().newDocument();
+            node.getProcessor().writeXdmValue(node, new DOMDestination(doc));
+            return new XMLDocument(doc);
+        } catch (final ParserConfigurationException | SaxonApiException ex) {
+            throw new IllegalStateException(
+                "Failed to turn Saxon tree into DOM", ex
+            );
+        }
+    }
+}
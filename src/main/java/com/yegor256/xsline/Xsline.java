@@ -25,9 +25,22 @@ package com.yegor256.xsline;
 
 import com.jcabi.log.Logger;
 import com.jcabi.xml.XML;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Chain of XSL transformations.
@@ -45,15 +58,38 @@ import java.util.LinkedList;
  * <p>See all implementations of {@link Shift} to learn the functionality
  * this package provides.</p>
  *
+ * <p>The class is thread-safe, provided the shifts inside are thread-safe,
+ * as all shifts in this package are. The same object may
+ * {@link #pass(XML)} many documents at the same time, or
+ * {@link #passAll(Iterable)} them all together, in parallel threads.</p>
+ *
+ * <p>Shifts wrapped into {@link StAsync} run in background, while the
+ * next shifts are working. The pass waits for them at the end and fails,
+ * if any of them failed.</p>
+ *
+ * <p>If the train is wrapped into {@link TrFrozen}, all its decorators are
+ * resolved only once, and each pass is a plain loop through an array
+ * of shifts, which makes no new objects.</p>
+ *
  * @since 0.1.0
  */
 public final class Xsline {
 
+    /**
+     * The default executor of asynchronous passes.
+     */
+    private static final Supplier<Executor> EXECUTOR = new Sticky<>(Xsline::async);
+
     /**
      * Collection of shifts.
      */
     private final Iterable<Shift> shifts;
 
+    /**
+     * Does the pass own intermediate documents?
+     */
+    private final boolean owning;
+
     /**
      * Ctor.
      * @param shift One shift to use
@@ -68,32 +104,290 @@ public final class Xsline {
      * @param list List of shifts
      */
     public Xsline(final Iterable<Shift> list) {
+        this(list, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * <p>If the pass owns intermediate documents, every new document made
+     * by a shift belongs to the pass, and the next shift may modify it
+     * in place, without copying, as {@link StInPlace} does. This is why
+     * shifts must not return documents, which are held by somebody else,
+     * for example stored in their own fields. The input document is never
+     * owned and never modified. The output document is given away without
+     * copying, and is not owned by anybody after the pass.</p>
+     *
+     * @param list List of shifts
+     * @param own Own intermediate documents
+     * @since 0.23.0
+     */
+    public Xsline(final Iterable<Shift> list, final boolean own) {
         this.shifts = list;
+        this.owning = own;
+    }
+
+    /**
+     * Ctor.
+     *
+     * <p>Intermediate documents are saved into the checkpoints, and the
+     * next pass of the same document resumes after the longest prefix
+     * of the train, which didn't change, see {@link StCheckpointed}.</p>
+     *
+     * @param list List of shifts
+     * @param cps The checkpoints, for example {@link CpMemory} or {@link CpDisk}
+     * @since 0.23.0
+     */
+    public Xsline(final Iterable<Shift> list, final Checkpoints cps) {
+        this(new StCheckpointed(list, cps));
+    }
+
+    /**
+     * Ctor.
+     *
+     * <p>Outputs of the entire train are saved into the directory, as
+     * GZIP-compressed files, and the next pass of the same document,
+     * maybe by another process, takes the output from there, see
+     * {@link StCheckpointed} and {@link CpDisk}.</p>
+     *
+     * @param list List of shifts
+     * @param dir The directory with outputs
+     * @param bytes Max total size of the directory, in bytes
+     * @since 0.23.0
+     */
+    public Xsline(final Iterable<Shift> list, final Path dir, final long bytes) {
+        this(new StCheckpointed(list, new CpDisk(dir, bytes), false));
     }
 
     /**
      * Run it all with the given XML.
+     *
+     * <p>Nothing is measured here, unless debug logging is enabled. Even
+     * then, only UIDs of shifts and the total time are logged. If you
+     * need to know how long each shift took, use
+     * {@link #passWithReport(XML)}.</p>
+     *
      * @param input The input XML
      * @return The output XML
      */
     public XML pass(final XML input) {
-        final long start = System.currentTimeMillis();
-        XML output = input;
-        int pos = 0;
-        final Collection<String> ids = new LinkedList<>();
-        for (final Shift shift : this.shifts) {
-            output = shift.apply(pos, output);
-            ++pos;
-            ids.add(shift.uid());
-        }
+        final XML output;
         if (Logger.isDebugEnabled(this)) {
+            final Collection<String> ids = new LinkedList<>();
+            final long start = System.nanoTime();
+            output = this.run(
+                input,
+                shift -> {
+                    ids.add(shift.uid());
+                    return shift;
+                }
+            );
             Logger.debug(
-                this, "Transformed XML through %d shift(s) in %[ms]s: %s",
-                pos, System.currentTimeMillis() - start,
-                String.join(", ", ids)
+                this, "Transformed XML through %d shift(s) in %[nano]s: %s",
+                ids.size(), System.nanoTime() - start, String.join(", ", ids)
             );
+        } else {
+            output = this.run(input, shift -> shift);
         }
         return output;
     }
 
+    /**
+     * Run it all with the given XML and report what happened.
+     *
+     * <p>Each shift is measured: how long it took, in nanoseconds, and
+     * how many nodes were in its input and output documents.</p>
+     *
+     * @param input The input XML
+     * @return The output XML, together with the report
+     * @since 0.23.0
+     */
+    public PassReport passWithReport(final XML input) {
+        final List<PassReport.Step> steps = new ArrayList<>(0);
+        final long start = System.nanoTime();
+        final XML output = this.run(input, shift -> new StMeasured(shift, steps));
+        return new PassReport(output, steps, System.nanoTime() - start);
+    }
+
+    /**
+     * Run it all with the given XML, asynchronously.
+     *
+     * <p>On Java 21 and later, the pass runs in a new virtual thread, so
+     * that thousands of passes, which wait for resources to be loaded, don't
+     * exhaust any thread pool. On earlier versions of Java, the common
+     * {@link ForkJoinPool} is used.</p>
+     *
+     * @param input The input XML
+     * @return The output XML, in the future
+     * @since 0.23.0
+     */
+    public CompletableFuture<XML> passAsync(final XML input) {
+        return this.passAsync(input, Xsline.EXECUTOR.get());
+    }
+
+    /**
+     * Run it all with the given XML, asynchronously, in the executor.
+     * @param input The input XML
+     * @param executor The executor to use, it is not shut down here
+     * @return The output XML, in the future
+     * @since 0.23.0
+     */
+    public CompletableFuture<XML> passAsync(final XML input,
+        final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> this.pass(input), executor);
+    }
+
+    /**
+     * Run it all with all given XML documents, in parallel threads
+     * of the common {@link ForkJoinPool}.
+     * @param inputs The input XML documents
+     * @return The output XML documents, in the same order
+     * @since 0.23.0
+     */
+    public List<XML> passAll(final Iterable<XML> inputs) {
+        return this.passAll(inputs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Run it all with all given XML documents, in the given number
+     * of parallel threads.
+     * @param inputs The input XML documents
+     * @param threads How many threads to use
+     * @return The output XML documents, in the same order
+     * @since 0.23.0
+     */
+    public List<XML> passAll(final Iterable<XML> inputs, final int threads) {
+        final ExecutorService pool = new ForkJoinPool(threads);
+        try {
+            return this.passAll(inputs, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Run it all with all given XML documents, in threads of the executor.
+     *
+     * <p>All documents are processed, even if some of them fail. Then, if
+     * any of them failed, an exception is thrown, which explains which
+     * documents failed and why. Errors of each document are attached to
+     * it as suppressed exceptions.</p>
+     *
+     * @param inputs The input XML documents
+     * @param executor The executor to use, it is not shut down here
+     * @return The output XML documents, in the same order
+     * @since 0.23.0
+     */
+    public List<XML> passAll(final Iterable<XML> inputs,
+        final ExecutorService executor) {
+        final List<Future<XML>> futures = new LinkedList<>();
+        for (final XML input : inputs) {
+            futures.add(executor.submit(() -> this.pass(input)));
+        }
+        final List<XML> outputs = new ArrayList<>(futures.size());
+        final Collection<Exception> failures = new LinkedList<>();
+        int pos = 0;
+        for (final Future<XML> future : futures) {
+            try {
+                outputs.add(future.get());
+            } catch (final InterruptedException ex) {
+                for (final Future<XML> rest : futures) {
+                    rest.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(
+                    "Interrupted while waiting for documents", ex
+                );
+            } catch (final ExecutionException ex) {
+                failures.add(
+                    new IllegalArgumentException(
+                        String.format("Document #%d failed", pos),
+                        ex.getCause()
+                    )
+                );
+            }
+            ++pos;
+        }
+        if (!failures.isEmpty()) {
+            final Collection<String> msgs = new ArrayList<>(failures.size());
+            for (final Exception failure : failures) {
+                msgs.add(
+                    String.format(
+                        "%s: %s", failure.getMessage(),
+                        failure.getCause().getMessage()
+                    )
+                );
+            }
+            final IllegalStateException error = new IllegalStateException(
+                String.format(
+                    "%d out of %d document(s) failed: %s",
+                    failures.size(), futures.size(), String.join("; ", msgs)
+                )
+            );
+            for (final Exception failure : failures) {
+                error.addSuppressed(failure);
+            }
+            throw error;
+        }
+        return outputs;
+    }
+
+    /**
+     * Make the default executor of asynchronous passes.
+     *
+     * <p>Virtual threads are found by reflection, since this library
+     * is compiled for Java 9.</p>
+     *
+     * @return Executor of virtual threads, if possible, or the common pool
+     */
+    private static Executor async() {
+        Executor exec;
+        try {
+            exec = (Executor) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (final NoSuchMethodException | IllegalAccessException
+            | InvocationTargetException ex) {
+            exec = ForkJoinPool.commonPool();
+        }
+        return exec;
+    }
+
+    /**
+     * Apply all shifts to the XML.
+     * @param input The input XML
+     * @param wrap Decorator of each shift
+     * @return The output XML
+     */
+    private XML run(final XML input, final Function<Shift, Shift> wrap) {
+        XML output = input;
+        int pos = 0;
+        Observers observers = null;
+        int mark = 0;
+        boolean done = false;
+        try {
+            for (final Shift shift : this.shifts) {
+                if (observers == null && StAsync.within(shift)) {
+                    observers = Observers.mine();
+                    mark = observers.open();
+                }
+                final XML next = wrap.apply(shift).apply(pos, output);
+                if (observers != null) {
+                    observers.moved(next);
+                }
+                if (this.owning) {
+                    output = OwnedXML.take(output, next);
+                } else {
+                    output = next;
+                }
+                ++pos;
+            }
+            done = true;
+        } finally {
+            if (observers != null) {
+                observers.close(mark, done);
+            }
+        }
+        return OwnedXML.release(output);
+    }
 }
@@ -0,0 +1,530 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Xsline} as a reactive processor of documents.
+ *
+ * <p>Documents are requested from the upstream publisher only when
+ * there is room for them: the processor never holds more documents than
+ * its buffer allows, counting those waiting for a thread, those being
+ * passed, and those waiting for the downstream subscriber to request
+ * them. No more than the given number of passes run at the same time.
+ * Outputs are given to the subscriber in the order of inputs, unless
+ * it's allowed to give them as soon as they are ready:</p>
+ *
+ * <pre> publisher.subscribe(processor);
+ * processor.subscribe(subscriber);</pre>
+ *
+ * <p>If any pass fails, the subscriber gets the error, the upstream
+ * subscription is cancelled, and all other documents are dropped.
+ * Only one subscriber is allowed.</p>
+ *
+ * <p>Because of this class, which implements {@link Flow.Processor},
+ * the library is compiled for Java 9.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @since 0.23.0
+ */
+@SuppressWarnings({"PMD.TooManyMethods", "PMD.TooManyFields"})
+public final class XslineProcessor implements Flow.Processor<XML, XML> {
+
+    /**
+     * The pipeline.
+     */
+    private final Xsline line;
+
+    /**
+     * The executor of passes.
+     */
+    private final Executor executor;
+
+    /**
+     * Max number of passes at the same time.
+     */
+    private final int threads;
+
+    /**
+     * Max number of documents held.
+     */
+    private final int capacity;
+
+    /**
+     * Give outputs in the order of inputs.
+     */
+    private final boolean ordered;
+
+    /**
+     * The lock for all the state below.
+     */
+    private final Object lock;
+
+    /**
+     * Documents waiting for a thread.
+     */
+    private final Queue<XML> waiting;
+
+    /**
+     * Documents passed and waiting for the subscriber, by numbers of inputs.
+     */
+    private final Map<Long, XML> finished;
+
+    /**
+     * The drain loop is working.
+     */
+    private final AtomicInteger wip;
+
+    /**
+     * The downstream subscriber was already given.
+     */
+    private final AtomicBoolean claimed;
+
+    /**
+     * The upstream subscription or NULL.
+     */
+    private Flow.Subscription source;
+
+    /**
+     * The downstream subscriber or NULL.
+     */
+    private Flow.Subscriber<? super XML> sink;
+
+    /**
+     * The failure or NULL.
+     */
+    private Throwable failure;
+
+    /**
+     * Inputs received.
+     */
+    private long received;
+
+    /**
+     * Passes started.
+     */
+    private long started;
+
+    /**
+     * Outputs delivered.
+     */
+    private long delivered;
+
+    /**
+     * Passes running now.
+     */
+    private int running;
+
+    /**
+     * Documents to request from the upstream.
+     */
+    private long owed;
+
+    /**
+     * Documents requested by the downstream.
+     */
+    private long demand;
+
+    /**
+     * The upstream completed.
+     */
+    private boolean completed;
+
+    /**
+     * The downstream cancelled.
+     */
+    private boolean cancelled;
+
+    /**
+     * The downstream got onComplete() or onError().
+     */
+    private boolean terminated;
+
+    /**
+     * Ctor.
+     * @param xsline The pipeline
+     */
+    public XslineProcessor(final Xsline xsline) {
+        this(xsline, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Ctor.
+     * @param xsline The pipeline
+     * @param parallel Max number of passes at the same time
+     */
+    public XslineProcessor(final Xsline xsline, final int parallel) {
+        this(xsline, ForkJoinPool.commonPool(), parallel, parallel * 2, true);
+    }
+
+    /**
+     * Ctor.
+     * @param xsline The pipeline
+     * @param exec The executor of passes, it is not shut down here
+     * @param parallel Max number of passes at the same time
+     * @param buffer Max number of documents held, not less than parallel
+     * @param order Give outputs in the order of inputs
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public XslineProcessor(final Xsline xsline, final Executor exec,
+        final int parallel, final int buffer, final boolean order) {
+        this.line = xsline;
+        this.executor = exec;
+        this.threads = Math.max(1, parallel);
+        this.capacity = Math.max(this.threads, buffer);
+        this.ordered = order;
+        this.lock = new Object();
+        this.waiting = new ArrayDeque<>(this.capacity);
+        this.finished = new TreeMap<>();
+        this.wip = new AtomicInteger();
+        this.claimed = new AtomicBoolean();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        final boolean fresh;
+        synchronized (this.lock) {
+            fresh = this.source == null;
+            if (fresh) {
+                this.source = subscription;
+                this.owed = this.capacity;
+            }
+        }
+        if (fresh) {
+            this.drain();
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(final XML item) {
+        synchronized (this.lock) {
+            this.waiting.add(item);
+            ++this.received;
+        }
+        this.drain();
+    }
+
+    @Override
+    public void onError(final Throwable error) {
+        this.fail(error);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this.lock) {
+            this.completed = true;
+        }
+        this.drain();
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super XML> subscriber) {
+        if (this.claimed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new XslineProcessor.Downstream(this));
+            synchronized (this.lock) {
+                this.sink = subscriber;
+            }
+            this.drain();
+        } else {
+            subscriber.onSubscribe(new XslineProcessor.Downstream(null));
+            subscriber.onError(
+                new IllegalStateException("Only one subscriber is allowed")
+            );
+        }
+    }
+
+    /**
+     * The downstream wants more outputs.
+     * @param more How many
+     */
+    void request(final long more) {
+        if (more <= 0L) {
+            this.fail(
+                new IllegalArgumentException(
+                    String.format("Can't request %d documents, must be positive", more)
+                )
+            );
+        } else {
+            synchronized (this.lock) {
+                if (Long.MAX_VALUE - this.demand < more) {
+                    this.demand = Long.MAX_VALUE;
+                } else {
+                    this.demand += more;
+                }
+            }
+            this.drain();
+        }
+    }
+
+    /**
+     * The downstream doesn't want outputs anymore.
+     */
+    void cancel() {
+        synchronized (this.lock) {
+            this.cancelled = true;
+            this.waiting.clear();
+            this.finished.clear();
+        }
+        this.drain();
+    }
+
+    /**
+     * Stop everything because of the failure.
+     * @param error The failure
+     */
+    private void fail(final Throwable error) {
+        synchronized (this.lock) {
+            if (this.failure == null) {
+                this.failure = error;
+            }
+            this.waiting.clear();
+            this.finished.clear();
+        }
+        this.drain();
+    }
+
+    /**
+     * Do everything that may be done now, in one thread at a time.
+     */
+    private void drain() {
+        if (this.wip.getAndIncrement() == 0) {
+            do {
+                this.start();
+                this.deliver();
+                this.upstream();
+                this.terminate();
+            } while (this.wip.decrementAndGet() != 0);
+        }
+    }
+
+    /**
+     * Start passes, while there are free threads.
+     */
+    private void start() {
+        while (true) {
+            final XML input;
+            final long seq;
+            synchronized (this.lock) {
+                if (this.running >= this.threads || this.waiting.isEmpty()
+                    || this.failure != null || this.cancelled) {
+                    break;
+                }
+                input = this.waiting.poll();
+                seq = this.started;
+                ++this.started;
+                ++this.running;
+            }
+            if (!this.launch(input, seq)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Start one pass.
+     *
+     * <p>If the executor rejects it, the subscriber gets the error.</p>
+     *
+     * @param input The input
+     * @param seq The number of the input
+     * @return TRUE if started
+     */
+    private boolean launch(final XML input, final long seq) {
+        boolean launched = true;
+        try {
+            this.line.passAsync(input, this.executor).whenComplete(
+                (output, error) -> {
+                    synchronized (this.lock) {
+                        --this.running;
+                        if (error == null && this.failure == null && !this.cancelled) {
+                            this.finished.put(seq, output);
+                        }
+                    }
+                    if (error == null) {
+                        this.drain();
+                    } else {
+                        this.fail(XslineProcessor.unwrap(error));
+                    }
+                }
+            );
+        } catch (final RejectedExecutionException ex) {
+            synchronized (this.lock) {
+                --this.running;
+            }
+            this.fail(ex);
+            launched = false;
+        }
+        return launched;
+    }
+
+    /**
+     * Give ready outputs to the subscriber, as many as requested.
+     */
+    private void deliver() {
+        while (true) {
+            final Flow.Subscriber<? super XML> subscriber;
+            final XML output;
+            synchronized (this.lock) {
+                subscriber = this.sink;
+                output = this.ready();
+                if (output == null) {
+                    break;
+                }
+                --this.demand;
+                ++this.delivered;
+                ++this.owed;
+            }
+            subscriber.onNext(output);
+        }
+    }
+
+    /**
+     * Take the next output, if it may be given to the subscriber now.
+     * @return The output or NULL
+     */
+    private XML ready() {
+        XML output = null;
+        if (this.sink != null && this.demand > 0L && this.failure == null
+            && !this.terminated) {
+            if (this.ordered) {
+                output = this.finished.remove(this.delivered);
+            } else if (!this.finished.isEmpty()) {
+                output = this.finished.remove(this.finished.keySet().iterator().next());
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Request more documents from the upstream, or cancel it.
+     */
+    private void upstream() {
+        final Flow.Subscription subscription;
+        final long more;
+        final boolean stop;
+        synchronized (this.lock) {
+            subscription = this.source;
+            stop = this.cancelled || this.failure != null;
+            if (this.completed) {
+                more = 0L;
+            } else {
+                more = this.owed;
+            }
+            this.owed = 0L;
+        }
+        if (subscription != null) {
+            if (stop) {
+                subscription.cancel();
+            } else if (more > 0L) {
+                subscription.request(more);
+            }
+        }
+    }
+
+    /**
+     * Tell the subscriber that there will be nothing more, if so.
+     */
+    private void terminate() {
+        final Flow.Subscriber<? super XML> subscriber;
+        final Throwable error;
+        boolean over;
+        synchronized (this.lock) {
+            subscriber = this.sink;
+            error = this.failure;
+            over = error != null || this.completed && this.received == this.delivered;
+            over = over && subscriber != null && !this.terminated && !this.cancelled;
+            if (over) {
+                this.terminated = true;
+            }
+        }
+        if (over && error == null) {
+            subscriber.onComplete();
+        } else if (over) {
+            subscriber.onError(error);
+        }
+    }
+
+    /**
+     * Find the real cause of the failure.
+     * @param error The failure
+     * @return The cause
+     */
+    private static Throwable unwrap(final Throwable error) {
+        Throwable cause = error;
+        if (error instanceof CompletionException && error.getCause() != null) {
+            cause = error.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * Subscription of the downstream subscriber.
+     *
+     * @since 0.23.0
+     */
+    private static final class Downstream implements Flow.Subscription {
+
+        /**
+         * The processor or NULL, if the subscriber was rejected.
+         */
+        private final XslineProcessor processor;
+
+        /**
+         * Ctor.
+         * @param proc The processor
+         */
+        Downstream(final XslineProcessor proc) {
+            this.processor = proc;
+        }
+
+        @Override
+        public void request(final long more) {
+            if (this.processor != null) {
+                this.processor.request(more);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (this.processor != null) {
+                this.processor.cancel();
+            }
+        }
+    }
+}
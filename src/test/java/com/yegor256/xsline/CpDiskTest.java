@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link CpDisk}.
+ *
+ * @since 0.23.0
+ */
+final class CpDiskTest {
+
+    /**
+     * The key of the first document.
+     */
+    private static final String FIRST = "first";
+
+    @Test
+    void loadsWhatWasStored(@TempDir final Path dir) {
+        final Checkpoints cps = new CpDisk(dir);
+        cps.store(CpDiskTest.FIRST, new XMLDocument("<a>hello</a>"));
+        MatcherAssert.assertThat(
+            new CpDisk(dir).load(CpDiskTest.FIRST).get().xpath("/a/text()"),
+            Matchers.contains("hello")
+        );
+    }
+
+    @Test
+    void countsOverwrittenDocumentsOnlyOnce(@TempDir final Path dir)
+        throws IOException {
+        final XML xml = new XMLDocument("<a>some document</a>");
+        new CpDisk(dir).store(CpDiskTest.FIRST, xml);
+        final long size = CpDiskTest.total(dir);
+        final Checkpoints cps = new CpDisk(dir, size * 5L / 2L);
+        cps.store("second", xml);
+        for (int idx = 0; idx < 5; ++idx) {
+            cps.store(CpDiskTest.FIRST, xml);
+        }
+        MatcherAssert.assertThat(
+            CpDiskTest.total(dir),
+            Matchers.equalTo(size * 2L)
+        );
+    }
+
+    @Test
+    void deletesOrphanedTemporaryFiles(@TempDir final Path dir)
+        throws IOException {
+        final Path old = Files.write(dir.resolve("old.tmp"), new byte[0]);
+        Files.setLastModifiedTime(
+            old, FileTime.fromMillis(System.currentTimeMillis() - 3_600_000L * 2L)
+        );
+        final Path fresh = Files.write(dir.resolve("fresh.tmp"), new byte[0]);
+        new CpDisk(dir).store(CpDiskTest.FIRST, new XMLDocument("<a/>"));
+        MatcherAssert.assertThat(
+            new boolean[] {Files.exists(old), Files.exists(fresh)},
+            Matchers.equalTo(new boolean[] {false, true})
+        );
+    }
+
+    /**
+     * Total size of all documents in the directory.
+     * @param dir The directory
+     * @return Size in bytes
+     * @throws IOException If fails
+     */
+    private static long total(final Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                .filter(file -> file.toString().endsWith(".xml.gz"))
+                .mapToLong(file -> file.toFile().length())
+                .sum();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XMLDocument;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Diff}.
+ *
+ * @since 0.23.0
+ */
+final class DiffTest {
+
+    @Test
+    void findsNoDifference() {
+        MatcherAssert.assertThat(
+            new Diff(
+                new XMLDocument("<x><a b='1'>hi</a></x>").inner(),
+                new XMLDocument("<x><a b='1'>hi</a></x>").inner(),
+                100
+            ).empty(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void findsNoDifferenceInSameNode() {
+        final XMLDocument xml = new XMLDocument("<x><a>hey</a></x>");
+        MatcherAssert.assertThat(
+            new Diff(xml.inner(), xml.inner(), 100).empty(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void findsChangedText() {
+        MatcherAssert.assertThat(
+            new Diff(
+                new XMLDocument("<x><a/><a>hi</a></x>").inner(),
+                new XMLDocument("<x><a/><a>bye</a></x>").inner(),
+                100
+            ).toString(),
+            Matchers.equalTo("changed /x[1]/a[2]/text()[1]:\nbye")
+        );
+    }
+
+    @Test
+    void findsAddedElement() {
+        MatcherAssert.assertThat(
+            new Diff(
+                new XMLDocument("<x><a/></x>").inner(),
+                new XMLDocument("<x><a/><b>text</b></x>").inner(),
+                100
+            ).toString(),
+            Matchers.equalTo("added /x[1]/b[1]:\n<b>text</b>")
+        );
+    }
+
+    @Test
+    void cutsLongExcerpt() {
+        MatcherAssert.assertThat(
+            new Diff(
+                new XMLDocument("<x/>").inner(),
+                new XMLDocument("<x a='1'><y>some long text</y></x>").inner(),
+                9
+            ).toString(),
+            Matchers.equalTo("changed /x[1]:\n<x a=\"1\">...")
+        );
+    }
+
+    @Test
+    void cutsHugeDocument() {
+        final StringBuilder xml = new StringBuilder(2_000_000).append("<x>");
+        for (int idx = 0; idx < 100_000; ++idx) {
+            xml.append("<y>some text</y>");
+        }
+        xml.append("</x>");
+        MatcherAssert.assertThat(
+            new Diff(
+                new XMLDocument("<x/>").inner(),
+                new XMLDocument(xml.toString()).inner(),
+                16
+            ).toString(),
+            Matchers.equalTo("added /x[1]/y[1]:\n<y>some text</y>")
+        );
+        MatcherAssert.assertThat(
+            new Excerpt(new XMLDocument(xml.toString()).inner(), 12).toString(),
+            Matchers.equalTo("<x><y>some t...")
+        );
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XMLDocument;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Fingerprint}.
+ *
+ * @since 0.23.0
+ */
+final class FingerprintTest {
+
+    @Test
+    void ignoresOrderOfAttributes() {
+        MatcherAssert.assertThat(
+            new Fingerprint(new XMLDocument("<x a='1' b='2'><y/>hi</x>")),
+            Matchers.equalTo(
+                new Fingerprint(new XMLDocument("<x b='2' a='1'><y/>hi</x>"))
+            )
+        );
+    }
+
+    @Test
+    void seesChangesInStructure() {
+        MatcherAssert.assertThat(
+            new Fingerprint(new XMLDocument("<x><a><b/></a><c/></x>")),
+            Matchers.not(
+                Matchers.equalTo(
+                    new Fingerprint(new XMLDocument("<x><a><b/><c/></a></x>"))
+                )
+            )
+        );
+    }
+
+    @Test
+    void seesChangesInText() {
+        MatcherAssert.assertThat(
+            new Fingerprint(new XMLDocument("<x><a>1</a></x>")).toString(),
+            Matchers.not(
+                Matchers.equalTo(
+                    new Fingerprint(new XMLDocument("<x><a>2</a></x>")).toString()
+                )
+            )
+        );
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MemoXML}.
+ *
+ * @since 0.23.0
+ * @checkstyle AbbreviationAsWordInNameCheck (5 lines)
+ */
+final class MemoXMLTest {
+
+    /**
+     * The document.
+     */
+    private static final String DOC = "<x><y>1</y></x>";
+
+    @Test
+    void printsOnlyOnce() {
+        final XML xml = new MemoXML(new XMLDocument(MemoXMLTest.DOC).inner());
+        MatcherAssert.assertThat(
+            xml.toString(),
+            Matchers.sameInstance(xml.toString())
+        );
+    }
+
+    @Test
+    void remembersXpathResults() {
+        final XML xml = new MemoXML(MemoXMLTest.DOC);
+        MatcherAssert.assertThat(xml.xpath("/x/y/text()"), Matchers.contains("1"));
+        MatcherAssert.assertThat(
+            xml.xpath("/x/y/text()"),
+            Matchers.sameInstance(xml.xpath("/x/y/text()"))
+        );
+    }
+
+    @Test
+    void givesTextToTransformerBeforeParsing() {
+        final XML xml = new MemoXML(MemoXMLTest.DOC);
+        MatcherAssert.assertThat(
+            MemoXML.source(xml),
+            Matchers.instanceOf(StreamSource.class)
+        );
+        MatcherAssert.assertThat(
+            new StClasspath("add-id.xsl").apply(0, xml),
+            XhtmlMatchers.hasXPath("/x[@id]")
+        );
+        xml.inner();
+        MatcherAssert.assertThat(
+            MemoXML.source(xml),
+            Matchers.instanceOf(DOMSource.class)
+        );
+    }
+
+    @Test
+    void equalsToSameDocument() {
+        MatcherAssert.assertThat(
+            new MemoXML(MemoXMLTest.DOC),
+            Matchers.equalTo(new MemoXML(MemoXMLTest.DOC))
+        );
+    }
+}
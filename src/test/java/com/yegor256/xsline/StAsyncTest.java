@@ -0,0 +1,214 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Test case for {@link StAsync}.
+ *
+ * @since 0.23.0
+ */
+final class StAsyncTest {
+
+    /**
+     * The document.
+     */
+    private static final String DOC = "<x>hello</x>";
+
+    @Test
+    void observesWhileNextShiftWorks() {
+        final CountDownLatch next = new CountDownLatch(1);
+        final AtomicInteger seen = new AtomicInteger();
+        MatcherAssert.assertThat(
+            new Xsline(
+                new TrDefault<>(
+                    new StAsync(
+                        new StLambda(
+                            (pos, xml) -> {
+                                if (!next.await(1L, TimeUnit.MINUTES)) {
+                                    throw new IllegalStateException("Too slow");
+                                }
+                                seen.set(xml.nodes("/x").size());
+                                return xml;
+                            }
+                        )
+                    ),
+                    new StLambda(
+                        (pos, xml) -> {
+                            next.countDown();
+                            return new XMLDocument("<y/>");
+                        }
+                    )
+                )
+            ).pass(new XMLDocument(StAsyncTest.DOC)),
+            XhtmlMatchers.hasXPath("/y")
+        );
+        MatcherAssert.assertThat(seen.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void raisesFailuresAtTheEndOfPass() {
+        final AtomicInteger after = new AtomicInteger();
+        final IllegalStateException error = Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new Xsline(
+                new TrDefault<>(
+                    new StAsync(
+                        new StLambda(
+                            (pos, xml) -> {
+                                throw new IllegalArgumentException("Invalid");
+                            }
+                        )
+                    ),
+                    new StLambda(
+                        (pos, xml) -> {
+                            after.incrementAndGet();
+                            return xml;
+                        }
+                    )
+                )
+            ).pass(new XMLDocument(StAsyncTest.DOC))
+        );
+        MatcherAssert.assertThat(after.get(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            error.getMessage(),
+            Matchers.containsString("1 out of 1 observer(s) failed")
+        );
+        MatcherAssert.assertThat(
+            error.getSuppressed().length,
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void appliesSynchronouslyOutsideOfPass() {
+        final AtomicInteger seen = new AtomicInteger();
+        new StAsync(
+            new StLambda(
+                (pos, xml) -> {
+                    seen.incrementAndGet();
+                    return new XMLDocument("<z/>");
+                }
+            )
+        ).apply(0, new XMLDocument(StAsyncTest.DOC));
+        MatcherAssert.assertThat(seen.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void givesEachObserverItsOwnDocument() {
+        final List<Node> seen = new CopyOnWriteArrayList<>();
+        final XML input = new XMLDocument(StAsyncTest.DOC);
+        final Shift observer = new StAsync(
+            new StLambda(
+                (pos, xml) -> {
+                    seen.add(xml.inner());
+                    return xml;
+                }
+            )
+        );
+        new Xsline(new TrDefault<>(observer, observer)).pass(input);
+        MatcherAssert.assertThat(seen, Matchers.hasSize(2));
+        MatcherAssert.assertThat(
+            seen.get(0),
+            Matchers.not(
+                Matchers.anyOf(
+                    Matchers.sameInstance(seen.get(1)),
+                    Matchers.sameInstance(input.inner())
+                )
+            )
+        );
+    }
+
+    @Test
+    void printsDocumentOnlyOnce() {
+        final Observers observers = Observers.mine();
+        final int mark = observers.open();
+        try {
+            final XML xml = new XMLDocument(StAsyncTest.DOC);
+            MatcherAssert.assertThat(
+                observers.snapshot(xml),
+                Matchers.sameInstance(observers.snapshot(xml))
+            );
+        } finally {
+            observers.close(mark, true);
+        }
+    }
+
+    @Test
+    void showsDocumentAsItWasBeforeChangesInPlace() {
+        final List<String> seen = new CopyOnWriteArrayList<>();
+        MatcherAssert.assertThat(
+            new Xsline(
+                new TrDefault<>(
+                    new StLambda(xml -> new XMLDocument(StAsyncTest.DOC)),
+                    new StAsync(
+                        new StLambda(
+                            (pos, xml) -> {
+                                seen.addAll(xml.xpath("/x/@a"));
+                                return xml;
+                            }
+                        )
+                    ),
+                    new StInPlace(
+                        "change",
+                        node -> ((Element) node.getFirstChild()).setAttribute("a", "1")
+                    )
+                ),
+                true
+            ).pass(new XMLDocument("<y/>")),
+            XhtmlMatchers.hasXPath("/x[@a='1']")
+        );
+        MatcherAssert.assertThat(seen, Matchers.empty());
+    }
+
+    @Test
+    void opensNoScopeWithoutObservers() {
+        final List<Boolean> active = new CopyOnWriteArrayList<>();
+        new Xsline(
+            new TrDefault<>(
+                new StLambda(
+                    (pos, xml) -> {
+                        active.add(Observers.mine().active());
+                        return xml;
+                    }
+                )
+            )
+        ).pass(new XMLDocument(StAsyncTest.DOC));
+        MatcherAssert.assertThat(active, Matchers.contains(false));
+    }
+}
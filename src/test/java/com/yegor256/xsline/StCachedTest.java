@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XMLDocument;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+
+/**
+ * Test case for {@link StCached}.
+ *
+ * @since 0.23.0
+ */
+final class StCachedTest {
+
+    /**
+     * Stylesheet that prints its parameter.
+     */
+    private static final String PARAM = String.join(
+        "",
+        "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+        "id='p' version='2.0'><xsl:param name='v'/>",
+        "<xsl:template match='/'><p><xsl:value-of select='$v'/></p>",
+        "</xsl:template></xsl:stylesheet>"
+    );
+
+    @Test
+    void appliesShiftOnlyOnceForSameInput() {
+        final ShiftCache cache = new ShiftCache(10);
+        final Shift shift = new StCached(new StClasspath("add-brackets.xsl"), cache);
+        for (final String text : new String[] {"a", "b", "a", "a"}) {
+            MatcherAssert.assertThat(
+                shift.apply(0, new XMLDocument(String.format("<x>%s</x>", text))),
+                XhtmlMatchers.hasXPath(String.format("/x[.='{%s}']", text))
+            );
+        }
+        MatcherAssert.assertThat(cache.hits(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(cache.misses(), Matchers.equalTo(2L));
+    }
+
+    @Test
+    void doesNotCacheLambdas() {
+        final AtomicInteger runs = new AtomicInteger();
+        final ShiftCache cache = new ShiftCache(10);
+        final Shift shift = new StCached(
+            new StLambda(
+                (pos, xml) -> {
+                    runs.incrementAndGet();
+                    return xml;
+                }
+            ),
+            cache
+        );
+        for (int idx = 0; idx < 3; ++idx) {
+            shift.apply(0, new XMLDocument("<x/>"));
+        }
+        MatcherAssert.assertThat(runs.get(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void doesNotCacheStylesheetsReadingDocuments() {
+        final ShiftCache cache = new ShiftCache(10);
+        new Xsline(
+            new TrCached(
+                new TrDefault<>(
+                    new StXSL(
+                        new XSLTemplates(
+                            String.join(
+                                "",
+                                "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+                                "id='d' version='2.0'><xsl:template match='/'>",
+                                "<p><xsl:value-of select='doc-available(\"file:/absent.xml\")'/></p>",
+                                "</xsl:template></xsl:stylesheet>"
+                            )
+                        )
+                    )
+                ),
+                cache
+            )
+        ).pass(new XMLDocument("<x/>"));
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(0));
+    }
+
+    @Test
+    void distinguishesParametersOfStylesheets() {
+        final ShiftCache cache = new ShiftCache(10);
+        final XSLTemplates xsl = new XSLTemplates(StCachedTest.PARAM);
+        for (final String value : new String[] {"one", "two"}) {
+            MatcherAssert.assertThat(
+                new Xsline(
+                    new TrCached(
+                        new TrDefault<>(new StXSL(xsl.with("v", value))),
+                        cache
+                    )
+                ).pass(new XMLDocument("<x/>")),
+                XhtmlMatchers.hasXPath(String.format("/p[.='%s']", value))
+            );
+        }
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void distinguishesParametersOfDecoratedStylesheets() {
+        final XSLTemplates xsl = new XSLTemplates(StCachedTest.PARAM);
+        for (final String value : new String[] {"one", "two"}) {
+            MatcherAssert.assertThat(
+                new Xsline(
+                    new TrCached(
+                        new TrLogged(
+                            new TrFast(new TrDefault<>(new StXSL(xsl.with("v", value))))
+                        )
+                    )
+                ).pass(new XMLDocument("<x/>")),
+                XhtmlMatchers.hasXPath(String.format("/p[.='%s']", value))
+            );
+        }
+    }
+
+    @Test
+    void evictsWhenTooManyNodes() {
+        final ShiftCache cache = new ShiftCache(10, 5L);
+        final Shift shift = new StCached(new StClasspath("void.xsl"), cache);
+        shift.apply(0, new XMLDocument("<a><b/></a>"));
+        shift.apply(0, new XMLDocument("<c><d/></c>"));
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(cache.evictions(), Matchers.equalTo(1L));
+    }
+
+    @Test
+    void givesOutDocumentsThatMayBeModified() {
+        final Shift shift = new StCached(new StClasspath("add-brackets.xsl"));
+        final String input = "<x>m</x>";
+        shift.apply(0, new XMLDocument(input));
+        ((Element) shift.apply(0, new XMLDocument(input)).inner().getFirstChild())
+            .setAttribute("broken", "yes");
+        MatcherAssert.assertThat(
+            shift.apply(0, new XMLDocument(input)),
+            XhtmlMatchers.hasXPaths("/x[.='{m}']", "/x[not(@broken)]")
+        );
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.transform.stream.StreamSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link StCheckpointed}.
+ *
+ * @since 0.23.0
+ */
+final class StCheckpointedTest {
+
+    /**
+     * The document.
+     */
+    private static final String DOC = "<x/>";
+
+    /**
+     * Stylesheet that adds an element, named by its parameter.
+     */
+    private static final XSLTemplates ADD = new XSLTemplates(
+        String.join(
+            "",
+            "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+            "id='add' version='2.0'><xsl:param name='n'/>",
+            "<xsl:template match='/x'><xsl:copy><xsl:copy-of select='node()'/>",
+            "<xsl:element name='{$n}'/></xsl:copy></xsl:template>",
+            "</xsl:stylesheet>"
+        )
+    );
+
+    @Test
+    void resumesFromLongestUnchangedPrefix() {
+        final StCheckpointedTest.Counted cps =
+            new StCheckpointedTest.Counted(new CpMemory());
+        new Xsline(StCheckpointedTest.train("c"), cps)
+            .pass(new XMLDocument(StCheckpointedTest.DOC));
+        MatcherAssert.assertThat(cps.stored(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(
+            new Xsline(StCheckpointedTest.train("c"), cps)
+                .pass(new XMLDocument(StCheckpointedTest.DOC)),
+            XhtmlMatchers.hasXPath("/x[a and b and c]")
+        );
+        MatcherAssert.assertThat(cps.stored(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(
+            new Xsline(StCheckpointedTest.train("d"), cps)
+                .pass(new XMLDocument(StCheckpointedTest.DOC)),
+            XhtmlMatchers.hasXPath("/x[a and b and d]")
+        );
+        MatcherAssert.assertThat(cps.stored(), Matchers.equalTo(4));
+    }
+
+    @Test
+    void appliesUnknownShiftsEveryTime() {
+        final Checkpoints cps = new CpMemory();
+        for (final String name : new String[] {"b", "z"}) {
+            MatcherAssert.assertThat(
+                new Xsline(
+                    new TrDefault<>(
+                        StCheckpointedTest.adding("a"),
+                        new StLambda(
+                            "same",
+                            (pos, xml) -> new XMLDocument(
+                                String.format("<x><%s/></x>", name)
+                            )
+                        ),
+                        StCheckpointedTest.adding("c")
+                    ),
+                    cps
+                ).pass(new XMLDocument(StCheckpointedTest.DOC)),
+                XhtmlMatchers.hasXPath(String.format("/x[%s and c]", name))
+            );
+        }
+    }
+
+    @Test
+    void doesNotResumeAfterChangedStylesheet() {
+        final Checkpoints cps = new CpMemory();
+        for (final String name : new String[] {"a", "z"}) {
+            MatcherAssert.assertThat(
+                new Xsline(
+                    new TrDefault<>(
+                        StCheckpointedTest.adding(name),
+                        StCheckpointedTest.adding("b")
+                    ),
+                    cps
+                ).pass(new XMLDocument(StCheckpointedTest.DOC)),
+                XhtmlMatchers.hasXPath(String.format("/x[%s and b]", name))
+            );
+        }
+    }
+
+    @Test
+    void doesNotResumeWhenIncludedStylesheetChanged() {
+        final Checkpoints cps = new CpMemory();
+        for (final String name : new String[] {"a", "z"}) {
+            final String inc = String.join(
+                "",
+                "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+                "version='2.0'><xsl:template match='/x'>",
+                String.format("<x><%s/></x>", name),
+                "</xsl:template></xsl:stylesheet>"
+            );
+            MatcherAssert.assertThat(
+                new Xsline(
+                    new TrDefault<>(
+                        new StXSL(
+                            new XSLTemplates(
+                                String.join(
+                                    "",
+                                    "<xsl:stylesheet id='main' version='2.0' ",
+                                    "xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>",
+                                    "<xsl:include href='inc.xsl'/></xsl:stylesheet>"
+                                ),
+                                "file:/main.xsl",
+                                (href, base) -> new StreamSource(
+                                    new StringReader(inc), "file:/inc.xsl"
+                                ),
+                                new TemplatesCache(1)
+                            )
+                        )
+                    ),
+                    cps
+                ).pass(new XMLDocument(StCheckpointedTest.DOC)),
+                XhtmlMatchers.hasXPath(String.format("/x/%s", name))
+            );
+        }
+    }
+
+    @Test
+    void appliesShiftsAtTheirPositions() {
+        final List<Integer> positions = new ArrayList<>(0);
+        final Checkpoints cps = new CpMemory();
+        for (int idx = 0; idx < 2; ++idx) {
+            new Xsline(
+                new TrDefault<>(
+                    StCheckpointedTest.adding("a"),
+                    new StCheckpointed(
+                        new TrDefault<>(
+                            StCheckpointedTest.adding("b"),
+                            new StLambda(
+                                (pos, xml) -> {
+                                    positions.add(pos);
+                                    return xml;
+                                }
+                            )
+                        ),
+                        cps
+                    )
+                )
+            ).pass(new XMLDocument(StCheckpointedTest.DOC));
+        }
+        MatcherAssert.assertThat(positions, Matchers.contains(2, 2));
+    }
+
+    @Test
+    void resumesFromDisk(@TempDir final Path dir) {
+        final StCheckpointedTest.Counted cps =
+            new StCheckpointedTest.Counted(new CpDisk(dir));
+        for (int idx = 0; idx < 2; ++idx) {
+            MatcherAssert.assertThat(
+                new Xsline(StCheckpointedTest.train("c"), cps)
+                    .pass(new XMLDocument(StCheckpointedTest.DOC)),
+                XhtmlMatchers.hasXPath("/x/c")
+            );
+        }
+        MatcherAssert.assertThat(cps.stored(), Matchers.equalTo(3));
+    }
+
+    @Test
+    void skipsEntireTrainWhenOutputIsStored(@TempDir final Path dir) throws IOException {
+        MatcherAssert.assertThat(
+            new Xsline(StCheckpointedTest.train("c"), dir, 1L << 20)
+                .pass(new XMLDocument(StCheckpointedTest.DOC)),
+            XhtmlMatchers.hasXPath("/x[a and b and c]")
+        );
+        final Path file;
+        try (Stream<Path> files = Files.list(dir)) {
+            final List<Path> all = files.collect(Collectors.toList());
+            MatcherAssert.assertThat(all, Matchers.hasSize(1));
+            file = all.get(0);
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write("<x><stored/></x>".getBytes(StandardCharsets.UTF_8));
+        }
+        MatcherAssert.assertThat(
+            new Xsline(StCheckpointedTest.train("c"), dir, 1L << 20)
+                .pass(new XMLDocument(StCheckpointedTest.DOC)),
+            XhtmlMatchers.hasXPath("/x/stored")
+        );
+    }
+
+    @Test
+    void respectsBudgetOnDisk(@TempDir final Path dir) throws IOException {
+        new Xsline(
+            StCheckpointedTest.train("c"),
+            new CpDisk(dir, 100L)
+        ).pass(new XMLDocument(StCheckpointedTest.DOC));
+        try (Stream<Path> files = Files.list(dir)) {
+            MatcherAssert.assertThat(
+                files.mapToLong(file -> file.toFile().length()).sum(),
+                Matchers.lessThanOrEqualTo(100L)
+            );
+        }
+    }
+
+    /**
+     * Make a train, which adds three elements.
+     * @param last The name of the last element
+     * @return The train
+     */
+    private static Train<Shift> train(final String last) {
+        final Train<Shift> train = new TrDefault<>();
+        return train
+            .with(StCheckpointedTest.adding("a"))
+            .with(StCheckpointedTest.adding("b"))
+            .with(StCheckpointedTest.adding(last));
+    }
+
+    /**
+     * Make a shift, which adds an element.
+     * @param name The name of the element
+     * @return The shift
+     */
+    private static Shift adding(final String name) {
+        return new StXSL(StCheckpointedTest.ADD.with("n", name));
+    }
+
+    /**
+     * Checkpoints, which count documents stored.
+     *
+     * @since 0.23.0
+     */
+    private static final class Counted implements Checkpoints {
+
+        /**
+         * The original checkpoints.
+         */
+        private final Checkpoints origin;
+
+        /**
+         * How many documents were stored.
+         */
+        private final AtomicInteger count;
+
+        /**
+         * Ctor.
+         * @param cps The original checkpoints
+         */
+        Counted(final Checkpoints cps) {
+            this.origin = cps;
+            this.count = new AtomicInteger();
+        }
+
+        @Override
+        public Optional<XML> load(final String key) {
+            return this.origin.load(key);
+        }
+
+        @Override
+        public void store(final String key, final XML xml) {
+            this.count.incrementAndGet();
+            this.origin.store(key, xml);
+        }
+
+        /**
+         * How many documents were stored.
+         * @return Total
+         */
+        int stored() {
+            return this.count.get();
+        }
+    }
+}
@@ -49,4 +49,22 @@ final class StEndlessTest {
         );
     }
 
+    @Test
+    void repeatsUntilNoChanges() {
+        MatcherAssert.assertThat(
+            new StEndless(
+                new XSLDocument(
+                    String.join(
+                        "",
+                        "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+                        "version='2.0'><xsl:template match='node()|@*'><xsl:copy>",
+                        "<xsl:apply-templates select='node()|@*'/></xsl:copy>",
+                        "</xsl:template><xsl:template match='i[1]'/></xsl:stylesheet>"
+                    )
+                )
+            ).apply(0, new XMLDocument("<x><i/><i/><i/><j/></x>")),
+            XhtmlMatchers.hasXPaths("/x[not(i) and j]")
+        );
+    }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XMLDocument;
+import com.jcabi.xml.XSLDocument;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link StFixpoint}.
+ *
+ * @since 0.23.0
+ */
+final class StFixpointTest {
+
+    @Test
+    void reachesFixedPoint() {
+        final AtomicInteger iterations = new AtomicInteger();
+        MatcherAssert.assertThat(
+            new StFixpoint(
+                new StXSL(
+                    new XSLDocument(
+                        String.join(
+                            "",
+                            "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+                            "id='drop' version='2.0'><xsl:template match='node()|@*'>",
+                            "<xsl:copy>",
+                            "<xsl:apply-templates select='node()|@*'/></xsl:copy>",
+                            "</xsl:template><xsl:template match='i[1]'/></xsl:stylesheet>"
+                        )
+                    )
+                ),
+                10, Long.MAX_VALUE,
+                (uid, total) -> iterations.set(total)
+            ).apply(0, new XMLDocument("<x><i/><i/><j/></x>")),
+            XhtmlMatchers.hasXPaths("/x[not(i) and j]")
+        );
+        MatcherAssert.assertThat(iterations.get(), Matchers.equalTo(3));
+    }
+
+    @Test
+    void stopsOnCycle() {
+        final AtomicInteger iterations = new AtomicInteger();
+        new StFixpoint(
+            new StLambda(
+                (pos, xml) -> {
+                    final String name;
+                    if (xml.nodes("/a").isEmpty()) {
+                        name = "a";
+                    } else {
+                        name = "b";
+                    }
+                    return new XMLDocument(String.format("<%s/>", name));
+                }
+            ),
+            10, Long.MAX_VALUE,
+            (uid, total) -> iterations.set(total)
+        ).apply(0, new XMLDocument("<a/>"));
+        MatcherAssert.assertThat(iterations.get(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void failsOnTooManyIterations() {
+        final AtomicInteger count = new AtomicInteger();
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new StFixpoint(
+                new StLambda(
+                    (pos, xml) -> new XMLDocument(
+                        String.format("<x>%d</x>", count.incrementAndGet())
+                    )
+                ),
+                5, Long.MAX_VALUE
+            ).apply(0, new XMLDocument("<x/>"))
+        );
+        MatcherAssert.assertThat(count.get(), Matchers.equalTo(5));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * Test case for {@link StInPlace}.
+ *
+ * @since 0.23.0
+ */
+final class StInPlaceTest {
+
+    /**
+     * The document.
+     */
+    private static final String DOC = "<x/>";
+
+    @Test
+    void modifiesOwnedDocumentWithoutCopying() {
+        final AtomicReference<Node> made = new AtomicReference<>();
+        final AtomicReference<Node> seen = new AtomicReference<>();
+        final XML output = new Xsline(
+            new TrDefault<>(
+                new StLambda(
+                    xml -> {
+                        final XML fresh = new XMLDocument("<y/>");
+                        made.set(fresh.inner());
+                        return fresh;
+                    }
+                ),
+                new StInPlace(
+                    "add",
+                    node -> {
+                        seen.set(node);
+                        StInPlaceTest.add(node);
+                    }
+                )
+            ),
+            true
+        ).pass(new XMLDocument(StInPlaceTest.DOC));
+        MatcherAssert.assertThat(output, XhtmlMatchers.hasXPath("/y/z"));
+        MatcherAssert.assertThat(seen.get(), Matchers.sameInstance(made.get()));
+    }
+
+    @Test
+    void neverModifiesInput() {
+        final XML input = new XMLDocument(StInPlaceTest.DOC);
+        MatcherAssert.assertThat(
+            new Xsline(
+                new TrDefault<>(new StInPlace("add", StInPlaceTest::add)),
+                true
+            ).pass(input),
+            XhtmlMatchers.hasXPath("/x/z")
+        );
+        MatcherAssert.assertThat(input.nodes("/x/z"), Matchers.empty());
+    }
+
+    @Test
+    void copiesDocumentWhenNotOwned() {
+        final XML input = new XMLDocument(StInPlaceTest.DOC);
+        new Xsline(
+            new TrDefault<>(
+                new StLambda(xml -> input),
+                new StInPlace("add", StInPlaceTest::add)
+            )
+        ).pass(new XMLDocument(StInPlaceTest.DOC));
+        MatcherAssert.assertThat(input.nodes("/x/z"), Matchers.empty());
+    }
+
+    @Test
+    void showsChangesToNextShifts() {
+        final AtomicReference<String> seen = new AtomicReference<>();
+        new Xsline(
+            new TrDefault<>(
+                new StXSL(
+                    new XSLTemplates(
+                        String.join(
+                            "",
+                            "<xsl:stylesheet id='copy' version='2.0' ",
+                            "xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>",
+                            "<xsl:template match='/'><xsl:copy-of select='.'/>",
+                            "</xsl:template></xsl:stylesheet>"
+                        )
+                    )
+                ),
+                new StLambda(
+                    "read",
+                    xml -> {
+                        xml.xpath("count(/x/z)");
+                        xml.toString();
+                        return xml;
+                    }
+                ),
+                new StInPlace("add", StInPlaceTest::add),
+                new StLambda(
+                    "check",
+                    xml -> {
+                        seen.set(
+                            String.format(
+                                "%s %s", xml.xpath("count(/x/z)").get(0),
+                                xml.toString().contains("<z/>")
+                            )
+                        );
+                        return xml;
+                    }
+                )
+            ),
+            true
+        ).pass(new XMLDocument(StInPlaceTest.DOC));
+        MatcherAssert.assertThat(seen.get(), Matchers.equalTo("1 true"));
+    }
+
+    /**
+     * Add an element to the root.
+     * @param node The document
+     */
+    private static void add(final Node node) {
+        final Document doc = (Document) node;
+        doc.getDocumentElement().appendChild(doc.createElement("z"));
+    }
+}
@@ -49,6 +49,15 @@ final class StLambdaTest {
         );
     }
 
+    @Test
+    void shouldReturnSameUidEveryTime() {
+        final Shift lambda = new StLambda((integer, xml) -> xml);
+        MatcherAssert.assertThat(
+            lambda.uid(),
+            Matchers.sameInstance(lambda.uid())
+        );
+    }
+
     @Test
     void shouldReturnUidFromCtor() {
         final String uuid = UUID.randomUUID().toString();
@@ -23,9 +23,18 @@
  */
 package com.yegor256.xsline;
 
+import com.jcabi.matchers.XhtmlMatchers;
 import com.jcabi.xml.XMLDocument;
+import java.io.StringWriter;
 import java.util.logging.Level;
+import org.apache.log4j.Appender;
+import org.apache.log4j.Logger;
+import org.apache.log4j.SimpleLayout;
+import org.apache.log4j.WriterAppender;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
 
 /**
  * Test case for {@link StLogged}.
@@ -60,4 +69,65 @@ final class StLoggedTest {
         ).pass(new XMLDocument("<bar/>"));
     }
 
+    @Test
+    void logsChangesInPlace() {
+        MatcherAssert.assertThat(
+            new Xsline(
+                new TrDefault<>(
+                    new StClasspath("void.xsl"),
+                    new StLogged(
+                        new StInPlace(
+                            "set",
+                            node -> ((Element) node.getFirstChild())
+                                .setAttribute("a", "1")
+                        ),
+                        StLoggedTest.class,
+                        Level.FINE
+                    )
+                ),
+                true
+            ).pass(new XMLDocument("<foo/>")),
+            XhtmlMatchers.hasXPaths("/foo[@a='1']")
+        );
+    }
+
+    @Test
+    void logsEditsInPlace() {
+        final StringWriter log = new StringWriter();
+        final Appender appender = new WriterAppender(new SimpleLayout(), log);
+        final Logger logger = Logger.getLogger(StLoggedTest.class);
+        logger.addAppender(appender);
+        try {
+            new Xsline(
+                new TrDefault<>(
+                    new StClasspath("void.xsl"),
+                    new StLogged(
+                        new StInPlace(
+                            "change",
+                            node -> ((Element) node.getFirstChild())
+                                .setAttribute("b", "2")
+                        ),
+                        StLoggedTest.class,
+                        Level.INFO
+                    ),
+                    new StLogged(
+                        new StLambda("same", xml -> xml),
+                        StLoggedTest.class,
+                        Level.INFO
+                    )
+                ),
+                true
+            ).pass(new XMLDocument("<bar/>"));
+        } finally {
+            logger.removeAppender(appender);
+        }
+        MatcherAssert.assertThat(
+            log.toString(),
+            Matchers.allOf(
+                Matchers.containsString("via 'change' edited the document in place"),
+                Matchers.containsString("b=\"2\""),
+                Matchers.containsString("via 'same' made no changes")
+            )
+        );
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XMLDocument;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link StSampled}.
+ *
+ * @since 0.23.0
+ */
+final class StSampledTest {
+
+    /**
+     * The schema to check against.
+     */
+    private static final String XSD = "/com/yegor256/xsline/simple.xsd";
+
+    @Test
+    void checksEveryThirdDocumentFully() {
+        final StSampled shift = new StSampled(
+            new TrDefault<>(
+                new StLambda("first", xml -> xml),
+                new StLambda("second", xml -> xml)
+            ),
+            new StSchema(StSampledTest.XSD),
+            3
+        );
+        for (int idx = 0; idx < 6; ++idx) {
+            shift.apply(0, new XMLDocument(String.format("<foo>%d</foo>", idx)));
+        }
+        MatcherAssert.assertThat(shift.full(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(shift.boundary(), Matchers.equalTo(4L));
+        MatcherAssert.assertThat(shift.replays(), Matchers.equalTo(0L));
+    }
+
+    @Test
+    void replaysToFindGuiltyShift() {
+        final StSampled shift = new StSampled(
+            new TrDefault<>(
+                new StLambda("good", xml -> xml),
+                new StLambda("bad", xml -> new XMLDocument("<foo>oops</foo>")),
+                new StLambda("last", xml -> xml)
+            ),
+            new StSchema(StSampledTest.XSD),
+            100
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> shift.apply(0, new XMLDocument("<foo>1</foo>"))
+        );
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> shift.apply(0, new XMLDocument("<foo>2</foo>"))
+            ).getMessage(),
+            Matchers.containsString("after shift #1 'bad'")
+        );
+        MatcherAssert.assertThat(shift.replays(), Matchers.equalTo(1L));
+    }
+
+    @Test
+    void doesNotReplayFailedShifts() {
+        final AtomicInteger calls = new AtomicInteger();
+        final StSampled shift = new StSampled(
+            new TrDefault<>(
+                new StLambda(
+                    "fragile",
+                    xml -> {
+                        if (calls.incrementAndGet() > 1) {
+                            throw new IllegalArgumentException("fragile shift");
+                        }
+                        return xml;
+                    }
+                )
+            ),
+            new StSchema(StSampledTest.XSD),
+            100
+        );
+        shift.apply(0, new XMLDocument("<foo>1</foo>"));
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> shift.apply(0, new XMLDocument("<foo>2</foo>"))
+            ).getMessage(),
+            Matchers.containsString("fragile shift")
+        );
+        MatcherAssert.assertThat(calls.get(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(shift.replays(), Matchers.equalTo(0L));
+    }
+
+    @Test
+    void doesNotReplayDocumentsModifiedInPlace() {
+        final StSampled shift = new StSampled(
+            new TrDefault<>(
+                new StInPlace(
+                    "break",
+                    node -> node.getFirstChild().setTextContent("oops")
+                )
+            ),
+            new StSchema(StSampledTest.XSD),
+            100
+        );
+        final Xsline line = new Xsline(
+            new TrDefault<>(
+                new StLambda("make", xml -> new XMLDocument("<foo>1</foo>")),
+                shift
+            ),
+            true
+        );
+        for (int idx = 0; idx < 2; ++idx) {
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> line.pass(new XMLDocument("<foo>2</foo>"))
+            );
+        }
+        MatcherAssert.assertThat(shift.boundary(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(shift.replays(), Matchers.equalTo(0L));
+    }
+}
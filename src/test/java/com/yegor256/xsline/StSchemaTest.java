@@ -24,10 +24,14 @@
 package com.yegor256.xsline;
 
 import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.LinkedList;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
@@ -59,6 +63,50 @@ final class StSchemaTest {
         );
     }
 
+    @Test
+    void failsOnFirstViolation() {
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> new Xsline(
+                    new StSchema("/com/yegor256/xsline/simple.xsd", 1)
+                ).pass(new XMLDocument("<foo>bad</foo>"))
+            ).getMessage(),
+            Matchers.startsWith("There are 1 XSD violation(s)")
+        );
+    }
+
+    @Test
+    void validatesManyDocumentsInParallel() {
+        final Collection<XML> inputs = new LinkedList<>();
+        for (int idx = 0; idx < 50; ++idx) {
+            inputs.add(new XMLDocument(String.format("<foo>%d</foo>", idx)));
+        }
+        MatcherAssert.assertThat(
+            new Xsline(
+                new StSchema("/com/yegor256/xsline/simple.xsd")
+            ).passAll(inputs, 4),
+            Matchers.hasSize(inputs.size())
+        );
+    }
+
+    @Test
+    void validatesByClasspathHint() {
+        MatcherAssert.assertThat(
+            new Xsline(new StSchema()).pass(
+                new XMLDocument(
+                    String.join(
+                        "",
+                        "<foo xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance' ",
+                        "xsi:noNamespaceSchemaLocation='com/yegor256/xsline/simple.xsd'>",
+                        "7</foo>"
+                    )
+                )
+            ),
+            XhtmlMatchers.hasXPaths("/foo")
+        );
+    }
+
     @Test
     void validatesWithoutSchema() {
         final Path xsd = Paths.get("src/test/resources/com/yegor256/xsline/simple.xsd");
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.Sources;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.jcabi.xml.XSL;
+import com.jcabi.xml.XSLDocument;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link StXSL}.
+ *
+ * @since 0.23.0
+ * @checkstyle AbbreviationAsWordInNameCheck (3 lines)
+ */
+final class StXSLTest {
+
+    @Test
+    void transformsXml() throws IOException {
+        MatcherAssert.assertThat(
+            new StXSL(
+                new XSLDocument(this.getClass().getResource("add-brackets.xsl"))
+            ).apply(0, new XMLDocument("<x>hi</x>")),
+            XhtmlMatchers.hasXPaths("/x[.='{hi}']")
+        );
+    }
+
+    @Test
+    void readsUidFromStylesheet() throws IOException {
+        MatcherAssert.assertThat(
+            new StXSL(
+                new XSLDocument(this.getClass().getResource("add-brackets.xsl"))
+            ).uid(),
+            Matchers.equalTo("add-brackets")
+        );
+    }
+
+    @Test
+    void readsUidOnlyOnce() throws IOException {
+        final AtomicInteger reads = new AtomicInteger();
+        final XSL origin = new XSLDocument(
+            this.getClass().getResource("void.xsl")
+        );
+        final Shift shift = new StXSL(new StXSLTest.Counted(origin, reads));
+        for (int idx = 0; idx < 10; ++idx) {
+            shift.uid();
+        }
+        MatcherAssert.assertThat(reads.get(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void complainsAboutMissingUid() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new StXSL(
+                new XSLDocument(
+                    "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' version='2.0'/>"
+                )
+            ).uid()
+        );
+    }
+
+    /**
+     * XSL that counts how many times it was printed.
+     *
+     * @since 0.23.0
+     */
+    private static final class Counted implements XSL {
+
+        /**
+         * The origin.
+         */
+        private final XSL origin;
+
+        /**
+         * The counter.
+         */
+        private final AtomicInteger reads;
+
+        /**
+         * Ctor.
+         * @param xsl The origin
+         * @param counter The counter
+         */
+        Counted(final XSL xsl, final AtomicInteger counter) {
+            this.origin = xsl;
+            this.reads = counter;
+        }
+
+        @Override
+        public XML transform(final XML xml) {
+            return this.origin.transform(xml);
+        }
+
+        @Override
+        public String applyTo(final XML xml) {
+            return this.origin.applyTo(xml);
+        }
+
+        @Override
+        public XSL with(final Sources sources) {
+            return this.origin.with(sources);
+        }
+
+        @Override
+        public XSL with(final String name, final Object value) {
+            return this.origin.with(name, value);
+        }
+
+        @Override
+        public String toString() {
+            this.reads.incrementAndGet();
+            return this.origin.toString();
+        }
+    }
+
+}
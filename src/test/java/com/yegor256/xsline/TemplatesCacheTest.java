@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.Sources;
+import com.jcabi.xml.XMLDocument;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.transform.stream.StreamSource;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link TemplatesCache}.
+ *
+ * @since 0.23.0
+ */
+final class TemplatesCacheTest {
+
+    /**
+     * Stylesheet that does nothing.
+     */
+    private static final String VOID = String.join(
+        "",
+        "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+        "id='%s' version='2.0'><xsl:template match='/'>",
+        "<xsl:copy-of select='.'/></xsl:template></xsl:stylesheet>"
+    );
+
+    @Test
+    void compilesSameStylesheetOnlyOnce() {
+        final TemplatesCache cache = new TemplatesCache(10);
+        for (int idx = 0; idx < 3; ++idx) {
+            MatcherAssert.assertThat(
+                new XSLTemplates(
+                    String.format(TemplatesCacheTest.VOID, "a"), "/a.xsl",
+                    Sources.DUMMY, cache
+                ).transform(new XMLDocument("<a/>")),
+                XhtmlMatchers.hasXPaths("/a")
+            );
+        }
+        MatcherAssert.assertThat(cache.misses(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(cache.hits(), Matchers.equalTo(2L));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final TemplatesCache cache = new TemplatesCache(2);
+        for (final String name : new String[] {"a", "b", "a", "c", "b"}) {
+            new XSLTemplates(
+                String.format(TemplatesCacheTest.VOID, name), "/",
+                Sources.DUMMY, cache
+            ).transform(new XMLDocument("<x/>"));
+        }
+        MatcherAssert.assertThat(cache.hits(), Matchers.equalTo(1L));
+        MatcherAssert.assertThat(cache.evictions(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void evictsBySize() {
+        final TemplatesCache cache = new TemplatesCache(100, 300L);
+        for (final String name : new String[] {"a", "b", "c"}) {
+            new XSLTemplates(
+                String.format(TemplatesCacheTest.VOID, name), "/",
+                Sources.DUMMY, cache
+            ).transform(new XMLDocument("<x/>"));
+        }
+        MatcherAssert.assertThat(cache.size(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void sharesStylesheetsOfClasspath() {
+        final long before = TemplatesCache.SHARED.hits();
+        new Xsline(new TrClasspath<>("add-id.xsl").back())
+            .pass(new XMLDocument("<x/>"));
+        new Xsline(new TrClasspath<>("add-id.xsl").back())
+            .pass(new XMLDocument("<y/>"));
+        MatcherAssert.assertThat(
+            TemplatesCache.SHARED.hits(),
+            Matchers.greaterThan(before)
+        );
+    }
+
+    @Test
+    void readsIncludesOfSameStylesheetOnlyOnce() {
+        final TemplatesCache cache = new TemplatesCache(10);
+        final AtomicInteger reads = new AtomicInteger();
+        final Sources srcs = (href, base) -> {
+            reads.incrementAndGet();
+            return new StreamSource(
+                new StringReader(String.format(TemplatesCacheTest.VOID, "inc")),
+                "file:/inc.xsl"
+            );
+        };
+        final Set<String> sigs = new HashSet<>(0);
+        for (int idx = 0; idx < 3; ++idx) {
+            sigs.add(
+                new Signature(
+                    new StXSL(
+                        new XSLTemplates(
+                            String.join(
+                                "",
+                                "<xsl:stylesheet id='main' version='2.0' ",
+                                "xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>",
+                                "<xsl:include href='inc.xsl'/></xsl:stylesheet>"
+                            ),
+                            "file:/main.xsl", srcs, cache
+                        )
+                    )
+                ).toString()
+            );
+        }
+        MatcherAssert.assertThat(sigs, Matchers.hasSize(1));
+        MatcherAssert.assertThat(reads.get(), Matchers.equalTo(1));
+    }
+}
@@ -47,4 +47,28 @@ final class TrDefaultTest {
         );
     }
 
+    @Test
+    void keepsOriginalTrainIntact() {
+        final Train<String> first = new TrDefault<String>().with("a");
+        final Train<String> second = first.with("b");
+        first.with("c");
+        MatcherAssert.assertThat(first, Matchers.contains("a"));
+        MatcherAssert.assertThat(second, Matchers.contains("a", "b"));
+    }
+
+    @Test
+    void buildsLongTrainInOrder() {
+        Train<Integer> train = new TrDefault<>(0);
+        final int total = 10_000;
+        for (int idx = 1; idx < total; ++idx) {
+            train = train.with(idx);
+        }
+        int expected = 0;
+        for (final Integer item : train) {
+            MatcherAssert.assertThat(item, Matchers.equalTo(expected));
+            ++expected;
+        }
+        MatcherAssert.assertThat(expected, Matchers.equalTo(total));
+    }
+
 }
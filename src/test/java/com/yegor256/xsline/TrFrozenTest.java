@@ -0,0 +1,140 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XMLDocument;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link TrFrozen}.
+ *
+ * @since 0.23.0
+ */
+final class TrFrozenTest {
+
+    @Test
+    void decoratesShiftsOnlyOnce() {
+        final AtomicInteger made = new AtomicInteger();
+        final Xsline line = new Xsline(
+            new TrFrozen(
+                new TrLambda(
+                    new TrDefault<>(
+                        new StClasspath("add-id.xsl"),
+                        new StClasspath("add-brackets.xsl")
+                    ),
+                    shift -> {
+                        made.incrementAndGet();
+                        return new StLogged(shift);
+                    }
+                )
+            )
+        );
+        for (int idx = 0; idx < 3; ++idx) {
+            MatcherAssert.assertThat(
+                line.pass(new XMLDocument("<x>foo</x>")),
+                XhtmlMatchers.hasXPaths("/x[@id and .='{foo}']")
+            );
+        }
+        MatcherAssert.assertThat(made.get(), Matchers.equalTo(2));
+    }
+
+    @Test
+    void flattensSequencesAndKeepsPositions() {
+        final Collection<String> seen = new LinkedList<>();
+        final Train<Shift> train = new TrFrozen(
+            new TrDefault<>(
+                TrFrozenTest.spy("a", seen),
+                new StSequence(
+                    TrFrozenTest.spy("b", seen),
+                    new StSequence(TrFrozenTest.spy("c", seen)),
+                    TrFrozenTest.spy("d", seen)
+                ),
+                TrFrozenTest.spy("e", seen)
+            )
+        );
+        MatcherAssert.assertThat(train, Matchers.iterableWithSize(5));
+        new Xsline(train).pass(new XMLDocument("<x/>"));
+        MatcherAssert.assertThat(
+            seen,
+            Matchers.contains("a0", "b0", "c0", "d2", "e2")
+        );
+    }
+
+    @Test
+    void keepsSequencesWithPredicates() {
+        MatcherAssert.assertThat(
+            new TrFrozen(
+                new TrDefault<>(
+                    new StSequence(
+                        xml -> false,
+                        new StClasspath("void.xsl"),
+                        new StClasspath("add-id.xsl")
+                    )
+                )
+            ),
+            Matchers.iterableWithSize(1)
+        );
+    }
+
+    @Test
+    void addsShiftsToOriginalTrain() {
+        MatcherAssert.assertThat(
+            new TrFrozen(new TrLogged())
+                .with(new StClasspath("void.xsl"))
+                .with(new StClasspath("add-id.xsl")),
+            Matchers.iterableWithSize(2)
+        );
+    }
+
+    @Test
+    void makesEmptyTrain() {
+        MatcherAssert.assertThat(
+            new TrFrozen(new TrDefault<>(new StClasspath("void.xsl")))
+                .empty(),
+            Matchers.emptyIterable()
+        );
+    }
+
+    /**
+     * Shift that remembers its UID and position.
+     * @param uid The UID
+     * @param seen Where to remember
+     * @return The shift
+     */
+    private static Shift spy(final String uid, final Collection<String> seen) {
+        return new StLambda(
+            uid,
+            (pos, xml) -> {
+                seen.add(String.format("%s%d", uid, pos));
+                return xml;
+            }
+        );
+    }
+}
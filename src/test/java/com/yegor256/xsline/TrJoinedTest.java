@@ -26,6 +26,7 @@ package com.yegor256.xsline;
 import com.jcabi.matchers.XhtmlMatchers;
 import com.jcabi.xml.XMLDocument;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -72,4 +73,18 @@ final class TrJoinedTest {
         );
     }
 
+    @Test
+    void skipsEmptyTrains() {
+        MatcherAssert.assertThat(
+            new TrJoined<>(
+                new TrDefault<>(),
+                new TrDefault<>("a", "b"),
+                new TrDefault<>(),
+                new TrDefault<>(),
+                new TrDefault<>("c")
+            ),
+            Matchers.contains("a", "b", "c")
+        );
+    }
+
 }
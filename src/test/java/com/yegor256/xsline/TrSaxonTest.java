@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XMLDocument;
+import java.io.StringWriter;
+import org.apache.log4j.Appender;
+import org.apache.log4j.Logger;
+import org.apache.log4j.SimpleLayout;
+import org.apache.log4j.WriterAppender;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link TrSaxon}.
+ *
+ * @since 0.23.0
+ */
+final class TrSaxonTest {
+
+    @Test
+    void transformsThroughSaxonTrees() {
+        MatcherAssert.assertThat(
+            new Xsline(
+                new TrSaxon(
+                    new TrClasspath<>(
+                        "add-brackets.xsl", "void.xsl", "add-id.xsl"
+                    ).back()
+                )
+            ).pass(new XMLDocument("<x>hello</x>")),
+            XhtmlMatchers.hasXPaths("/x[@id and .='{hello}']")
+        );
+    }
+
+    @Test
+    void givesDomToLambdas() {
+        MatcherAssert.assertThat(
+            new Xsline(
+                new TrSaxon(
+                    new TrDefault<Shift>()
+                        .with(new StClasspath("add-brackets.xsl"))
+                        .with(
+                            new StLambda(
+                                xml -> new XMLDocument(
+                                    String.format(
+                                        "<y>%s</y>", xml.xpath("/x/text()").get(0)
+                                    )
+                                )
+                            )
+                        )
+                        .with(new StClasspath("add-param.xsl", "param hey"))
+                )
+            ).pass(new XMLDocument("<x>hi</x>")),
+            XhtmlMatchers.hasXPaths("/y[@param='hey' and .='{hi}']")
+        );
+    }
+
+    @Test
+    void reportsErrorsOfStylesheets() {
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new Xsline(
+                    new TrSaxon(new TrClasspath<>("emit-error.xsl").back())
+                ).pass(new XMLDocument("<x>hello</x>"))
+            ).getMessage(),
+            Matchers.containsString("emit-error")
+        );
+    }
+
+    @Test
+    void logsMessages() {
+        final StringWriter log = new StringWriter();
+        final Appender appender = new WriterAppender(new SimpleLayout(), log);
+        final Logger logger = Logger.getLogger(Messages.class);
+        logger.addAppender(appender);
+        try {
+            new Xsline(
+                new TrSaxon(
+                    new TrDefault<>(
+                        new StXSL(
+                            new XSLTemplates(
+                                String.join(
+                                    "",
+                                    "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+                                    "id='talk' version='2.0'>",
+                                    "<xsl:template match='/'><xsl:message>hello, Saxon!</xsl:message>",
+                                    "<y/></xsl:template></xsl:stylesheet>"
+                                )
+                            )
+                        )
+                    )
+                )
+            ).pass(new XMLDocument("<x/>"));
+        } finally {
+            logger.removeAppender(appender);
+        }
+        MatcherAssert.assertThat(
+            log.toString(),
+            Matchers.containsString("hello, Saxon!")
+        );
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link TrStreamed}.
+ *
+ * @since 0.23.0
+ */
+final class TrStreamedTest {
+
+    /**
+     * Stylesheet that adds brackets.
+     */
+    private static final String BRACKETS = "add-brackets.xsl";
+
+    /**
+     * Stylesheet that does nothing.
+     */
+    private static final String VOID = "void.xsl";
+
+    @Test
+    void streamsThroughStylesheets() {
+        MatcherAssert.assertThat(
+            new Xsline(
+                new TrStreamed(
+                    new TrClasspath<>(
+                        TrStreamedTest.BRACKETS, TrStreamedTest.VOID, "add-id.xsl",
+                        TrStreamedTest.BRACKETS
+                    ).back()
+                )
+            ).pass(new XMLDocument("<x>hello</x>")),
+            XhtmlMatchers.hasXPaths("/x[@id and .='{{hello}}']")
+        );
+    }
+
+    @Test
+    void streamsInManyThreads() throws Exception {
+        final Xsline line = new Xsline(
+            new TrStreamed(
+                new TrClasspath<>(
+                    TrStreamedTest.BRACKETS, TrStreamedTest.VOID,
+                    TrStreamedTest.BRACKETS
+                ).back()
+            )
+        );
+        final ExecutorService exec = Executors.newFixedThreadPool(8);
+        try {
+            final Collection<Future<XML>> futures = new LinkedList<>();
+            for (int idx = 0; idx < 64; ++idx) {
+                final String text = String.format("<x>%d</x>", idx);
+                futures.add(exec.submit(() -> line.pass(new XMLDocument(text))));
+            }
+            int idx = 0;
+            for (final Future<XML> future : futures) {
+                MatcherAssert.assertThat(
+                    future.get(),
+                    XhtmlMatchers.hasXPaths(String.format("/x[.='{{%d}}']", idx))
+                );
+                ++idx;
+            }
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    @Test
+    void joinsOnlyNeighbours() {
+        final Collection<String> uids = new LinkedList<>();
+        for (final Shift shift : new TrStreamed(
+            new TrDefault<Shift>()
+                .with(new StClasspath(TrStreamedTest.VOID))
+                .with(new StClasspath(TrStreamedTest.BRACKETS))
+                .with(new StLambda("pause", xml -> xml))
+                .with(new StClasspath("add-id.xsl"))
+        )) {
+            uids.add(shift.uid());
+        }
+        MatcherAssert.assertThat(
+            uids,
+            Matchers.contains(
+                "void+add-brackets", "+add-brackets", "pause", "add-id"
+            )
+        );
+    }
+
+    @Test
+    void keepsPositionsOfShifts() {
+        final Collection<Integer> positions = new LinkedList<>();
+        new Xsline(
+            new TrStreamed(
+                new TrDefault<Shift>()
+                    .with(new StClasspath(TrStreamedTest.VOID))
+                    .with(new StClasspath(TrStreamedTest.BRACKETS))
+                    .with(new StClasspath("add-id.xsl"))
+                    .with(
+                        new StLambda(
+                            (pos, xml) -> {
+                                positions.add(pos);
+                                return xml;
+                            }
+                        )
+                    )
+            )
+        ).pass(new XMLDocument("<x>hi</x>"));
+        MatcherAssert.assertThat(positions, Matchers.contains(3));
+    }
+
+    @Test
+    void keepsLambdasInPlace() {
+        MatcherAssert.assertThat(
+            new Xsline(
+                new TrStreamed(
+                    new TrDefault<Shift>()
+                        .with(new StClasspath(TrStreamedTest.VOID))
+                        .with(new StClasspath(TrStreamedTest.BRACKETS))
+                        .with(
+                            new StLambda(
+                                xml -> new XMLDocument(
+                                    String.format("<y>%s</y>", xml.xpath("/x/text()").get(0))
+                                )
+                            )
+                        )
+                        .with(new StClasspath(TrStreamedTest.BRACKETS))
+                        .with(new StClasspath(TrStreamedTest.BRACKETS))
+                )
+            ).pass(new XMLDocument("<x>hi</x>")),
+            XhtmlMatchers.hasXPaths("/y[.='{{{hi}}}']")
+        );
+    }
+
+    @Test
+    void reportsErrorsOfStylesheets() {
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new Xsline(
+                    new TrStreamed(
+                        new TrClasspath<>(TrStreamedTest.VOID, "emit-error.xsl").back()
+                    )
+                ).pass(new XMLDocument("<x>hello</x>"))
+            ).getMessage(),
+            Matchers.containsString("terminated by xsl:message at line 31")
+        );
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.Sources;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Transformers}.
+ *
+ * @since 0.23.0
+ */
+final class TransformersTest {
+
+    @Test
+    void reusesReturnedTransformer() throws Exception {
+        final Transformers pool = new Transformers(TransformersTest::templates, 2);
+        final Transformer first = pool.take();
+        pool.give(first);
+        MatcherAssert.assertThat(pool.take(), Matchers.sameInstance(first));
+    }
+
+    @Test
+    void keepsNoMoreThanBound() throws Exception {
+        final Transformers pool = new Transformers(TransformersTest::templates, 2);
+        final Transformer[] all = {pool.take(), pool.take(), pool.take()};
+        MatcherAssert.assertThat(pool.give(all[0]), Matchers.is(true));
+        MatcherAssert.assertThat(pool.give(all[1]), Matchers.is(true));
+        MatcherAssert.assertThat(pool.give(all[2]), Matchers.is(false));
+        MatcherAssert.assertThat(pool.size(), Matchers.equalTo(2));
+    }
+
+    /**
+     * Compile a simple stylesheet.
+     * @return The templates
+     */
+    private static Templates templates() {
+        return new TemplatesOf(
+            String.join(
+                "",
+                "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' ",
+                "version='2.0'><xsl:template match='/'>",
+                "<xsl:copy-of select='.'/></xsl:template></xsl:stylesheet>"
+            ),
+            "/", Sources.DUMMY
+        ).get();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XMLDocument;
+import java.io.StringReader;
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+/**
+ * Test case for {@link Validators}.
+ *
+ * @since 0.23.0
+ */
+final class ValidatorsTest {
+
+    @Test
+    void reusesValidators() {
+        final Validators pool = new Validators(ValidatorsTest::schema, 2);
+        for (int idx = 0; idx < 3; ++idx) {
+            MatcherAssert.assertThat(
+                pool.validate(new XMLDocument("<foo>1</foo>").inner()),
+                Matchers.empty()
+            );
+        }
+        MatcherAssert.assertThat(pool.size(), Matchers.equalTo(1));
+    }
+
+    @Test
+    void reportsAllViolations() {
+        final Validators pool = new Validators(ValidatorsTest::schema);
+        MatcherAssert.assertThat(
+            pool.validate(new XMLDocument("<foo>x</foo>").inner()),
+            Matchers.not(Matchers.empty())
+        );
+        MatcherAssert.assertThat(
+            pool.validate(new XMLDocument("<foo>2</foo>").inner()),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void stopsOnFirstViolation() {
+        final Validators pool = new Validators(ValidatorsTest::schema);
+        MatcherAssert.assertThat(
+            pool.validate(new XMLDocument("<foo>x</foo>").inner(), 1),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            pool.validate(new XMLDocument("<foo>3</foo>").inner(), 1),
+            Matchers.empty()
+        );
+    }
+
+    /**
+     * Compile a simple schema.
+     * @return The schema
+     */
+    private static Schema schema() {
+        try {
+            return SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                .newSchema(
+                    new StreamSource(
+                        new StringReader(
+                            String.join(
+                                "",
+                                "<xs:schema xmlns:xs='http://www.w3.org/2001/XMLSchema'>",
+                                "<xs:element name='foo' type='xs:integer'/></xs:schema>"
+                            )
+                        )
+                    )
+                );
+        } catch (final SAXException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XMLDocument;
+import com.jcabi.xml.XSL;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.apache.log4j.Appender;
+import org.apache.log4j.Logger;
+import org.apache.log4j.SimpleLayout;
+import org.apache.log4j.WriterAppender;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link XSLTemplates}.
+ *
+ * @since 0.23.0
+ * @checkstyle AbbreviationAsWordInNameCheck (3 lines)
+ */
+final class XSLTemplatesTest {
+
+    /**
+     * Empty document.
+     */
+    private static final String EMPTY = "<x/>";
+
+    @Test
+    void transformsManyTimes() throws IOException {
+        final XSL xsl = new XSLTemplates(
+            this.getClass().getResource("add-brackets.xsl")
+        );
+        for (int idx = 0; idx < 3; ++idx) {
+            MatcherAssert.assertThat(
+                xsl.transform(new XMLDocument("<x>hey</x>")),
+                XhtmlMatchers.hasXPaths("/x[.='{hey}']")
+            );
+        }
+    }
+
+    @Test
+    void passesParameters() throws IOException {
+        final XSL xsl = new XSLTemplates(
+            this.getClass().getResource("add-param.xsl")
+        );
+        MatcherAssert.assertThat(
+            xsl.with("param", "first").transform(new XMLDocument(XSLTemplatesTest.EMPTY)),
+            XhtmlMatchers.hasXPaths("/x[@param='first']")
+        );
+        MatcherAssert.assertThat(
+            xsl.with("param", "second").transform(new XMLDocument(XSLTemplatesTest.EMPTY)),
+            XhtmlMatchers.hasXPaths("/x[@param='second']")
+        );
+    }
+
+    @Test
+    void forgetsParametersOfReusedTransformers() throws IOException {
+        final XSL xsl = new XSLTemplates(
+            this.getClass().getResource("add-param.xsl")
+        );
+        xsl.with("param", "old").transform(new XMLDocument(XSLTemplatesTest.EMPTY));
+        MatcherAssert.assertThat(
+            xsl.transform(new XMLDocument(XSLTemplatesTest.EMPTY)),
+            XhtmlMatchers.hasXPaths("/x[@param='']")
+        );
+    }
+
+    @Test
+    void printsToText() throws IOException {
+        MatcherAssert.assertThat(
+            new XSLTemplates(
+                this.getClass().getResource("add-brackets.xsl")
+            ).applyTo(new XMLDocument("<y>bye</y>")),
+            Matchers.containsString("<y>{bye}</y>")
+        );
+    }
+
+    @Test
+    void complainsAboutBrokenStylesheet() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new XSLTemplates("<broken/>").transform(new XMLDocument(XSLTemplatesTest.EMPTY))
+        );
+    }
+
+    @Test
+    void logsMessages() {
+        final StringWriter log = new StringWriter();
+        final Appender appender = new WriterAppender(new SimpleLayout(), log);
+        final Logger logger = Logger.getLogger(Messages.class);
+        logger.addAppender(appender);
+        try {
+            new XSLTemplates(
+                String.join(
+                    "",
+                    "<xsl:stylesheet xmlns:xsl='http://www.w3.org/1999/XSL/Transform' version='2.0'>",
+                    "<xsl:template match='/'><xsl:message>hello, log!</xsl:message>",
+                    "<y/></xsl:template></xsl:stylesheet>"
+                )
+            ).transform(new XMLDocument(XSLTemplatesTest.EMPTY));
+        } finally {
+            logger.removeAppender(appender);
+        }
+        MatcherAssert.assertThat(
+            log.toString(),
+            Matchers.containsString("hello, log!")
+        );
+    }
+}
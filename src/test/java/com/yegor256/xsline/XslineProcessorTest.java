@@ -0,0 +1,300 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022-2025 Yegor Bugayenko
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.yegor256.xsline;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link XslineProcessor}.
+ *
+ * @since 0.23.0
+ */
+final class XslineProcessorTest {
+
+    /**
+     * XPath of the text.
+     */
+    private static final String TEXT = "/x/text()";
+
+    @Test
+    void keepsOrderAndLimitsParallelPasses() throws Exception {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger most = new AtomicInteger();
+        final XslineProcessor processor = new XslineProcessor(
+            new Xsline(
+                new StLambda(
+                    (pos, xml) -> {
+                        most.accumulateAndGet(active.incrementAndGet(), Math::max);
+                        final long text = Long.parseLong(
+                            xml.xpath(XslineProcessorTest.TEXT).get(0)
+                        );
+                        Thread.sleep(text % 3L);
+                        active.decrementAndGet();
+                        return xml;
+                    }
+                )
+            ),
+            3
+        );
+        final XslineProcessorTest.Collector collector =
+            new XslineProcessorTest.Collector();
+        processor.subscribe(collector);
+        final List<String> expected = new ArrayList<>(0);
+        try (SubmissionPublisher<XML> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (int idx = 0; idx < 30; ++idx) {
+                expected.add(Integer.toString(idx));
+                publisher.submit(new XMLDocument(String.format("<x>%d</x>", idx)));
+            }
+        }
+        collector.await();
+        MatcherAssert.assertThat(collector.texts(), Matchers.equalTo(expected));
+        MatcherAssert.assertThat(most.get(), Matchers.lessThanOrEqualTo(3));
+    }
+
+    @Test
+    void requestsOnlyWhatFitsIntoBuffer() {
+        final XslineProcessor processor = new XslineProcessor(
+            new Xsline(new StLambda(xml -> xml)), Runnable::run, 2, 3, true
+        );
+        final XslineProcessorTest.Source source = new XslineProcessorTest.Source();
+        source.subscribe(processor);
+        final AtomicReference<Flow.Subscription> sub = new AtomicReference<>();
+        final List<XML> outputs = Collections.synchronizedList(new ArrayList<>(0));
+        processor.subscribe(
+            new XslineProcessorTest.Collector() {
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    sub.set(subscription);
+                }
+
+                @Override
+                public void onNext(final XML item) {
+                    outputs.add(item);
+                }
+            }
+        );
+        MatcherAssert.assertThat(source.requested(), Matchers.equalTo(3L));
+        for (int idx = 0; idx < 3; ++idx) {
+            processor.onNext(new XMLDocument("<x/>"));
+        }
+        MatcherAssert.assertThat(source.requested(), Matchers.equalTo(3L));
+        sub.get().request(2L);
+        MatcherAssert.assertThat(outputs, Matchers.hasSize(2));
+        MatcherAssert.assertThat(source.requested(), Matchers.equalTo(5L));
+    }
+
+    @Test
+    void reportsFailure() throws Exception {
+        final XslineProcessor processor = new XslineProcessor(
+            new Xsline(
+                new StLambda(
+                    xml -> {
+                        throw new IllegalArgumentException("Oops");
+                    }
+                )
+            )
+        );
+        final XslineProcessorTest.Collector collector =
+            new XslineProcessorTest.Collector();
+        processor.subscribe(collector);
+        final XslineProcessorTest.Source source = new XslineProcessorTest.Source();
+        source.subscribe(processor);
+        processor.onNext(new XMLDocument("<x/>"));
+        collector.await();
+        MatcherAssert.assertThat(
+            collector.error().getMessage(),
+            Matchers.containsString("Oops")
+        );
+        MatcherAssert.assertThat(source.cancelled(), Matchers.is(true));
+    }
+
+    @Test
+    void reportsRejectedPass() throws Exception {
+        final XslineProcessor processor = new XslineProcessor(
+            new Xsline(new StLambda(xml -> xml)),
+            command -> {
+                throw new RejectedExecutionException("Busy");
+            },
+            2, 3, true
+        );
+        final XslineProcessorTest.Collector collector =
+            new XslineProcessorTest.Collector();
+        processor.subscribe(collector);
+        final XslineProcessorTest.Source source = new XslineProcessorTest.Source();
+        source.subscribe(processor);
+        processor.onNext(new XMLDocument("<x/>"));
+        collector.await();
+        MatcherAssert.assertThat(
+            collector.error(),
+            Matchers.instanceOf(RejectedExecutionException.class)
+        );
+        MatcherAssert.assertThat(source.cancelled(), Matchers.is(true));
+    }
+
+    /**
+     * Publisher, which only counts requests.
+     *
+     * @since 0.23.0
+     */
+    private static final class Source implements Flow.Publisher<XML> {
+
+        /**
+         * Total requested.
+         */
+        private final AtomicLong total = new AtomicLong();
+
+        /**
+         * Cancelled?
+         */
+        private final AtomicInteger cancels = new AtomicInteger();
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super XML> subscriber) {
+            subscriber.onSubscribe(
+                new Flow.Subscription() {
+                    @Override
+                    public void request(final long more) {
+                        Source.this.total.addAndGet(more);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        Source.this.cancels.incrementAndGet();
+                    }
+                }
+            );
+        }
+
+        /**
+         * Total requested.
+         * @return Number of documents
+         */
+        long requested() {
+            return this.total.get();
+        }
+
+        /**
+         * Was it cancelled?
+         * @return TRUE if so
+         */
+        boolean cancelled() {
+            return this.cancels.get() > 0;
+        }
+    }
+
+    /**
+     * Subscriber, which collects texts, one by one.
+     *
+     * @since 0.23.0
+     */
+    private static class Collector implements Flow.Subscriber<XML> {
+
+        /**
+         * Texts received.
+         */
+        private final List<String> list =
+            Collections.synchronizedList(new ArrayList<>(0));
+
+        /**
+         * Finished.
+         */
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        /**
+         * The failure.
+         */
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        /**
+         * The subscription.
+         */
+        private final AtomicReference<Flow.Subscription> sub = new AtomicReference<>();
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.sub.set(subscription);
+            subscription.request(1L);
+        }
+
+        @Override
+        public void onNext(final XML item) {
+            this.list.add(item.xpath(XslineProcessorTest.TEXT).get(0));
+            this.sub.get().request(1L);
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            this.failure.set(error);
+            this.done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            this.done.countDown();
+        }
+
+        /**
+         * Wait for the end.
+         * @throws InterruptedException If interrupted
+         */
+        void await() throws InterruptedException {
+            MatcherAssert.assertThat(
+                this.done.await(1L, TimeUnit.MINUTES),
+                Matchers.is(true)
+            );
+        }
+
+        /**
+         * Texts received.
+         * @return Texts
+         */
+        List<String> texts() {
+            return this.list;
+        }
+
+        /**
+         * The failure.
+         * @return The error or NULL
+         */
+        Throwable error() {
+            return this.failure.get();
+        }
+    }
+}
@@ -29,7 +29,17 @@ import com.jcabi.xml.XMLDocument;
 import com.jcabi.xml.XSL;
 import com.jcabi.xml.XSLDocument;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -67,4 +77,117 @@ final class XslineTest {
         );
     }
 
+    @Test
+    void passesManyDocumentsInParallel() {
+        final Collection<XML> inputs = new ArrayList<>(100);
+        for (int idx = 0; idx < 100; ++idx) {
+            inputs.add(new XMLDocument(String.format("<x>%d</x>", idx)));
+        }
+        final List<XML> outputs = new Xsline(
+            new TrClasspath<>("add-brackets.xsl", "add-id.xsl").back()
+        ).passAll(inputs, 4);
+        for (int idx = 0; idx < 100; ++idx) {
+            MatcherAssert.assertThat(
+                outputs.get(idx),
+                XhtmlMatchers.hasXPaths(String.format("/x[@id and .='{%d}']", idx))
+            );
+        }
+    }
+
+    @Test
+    void reportsFailedDocuments() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final IllegalStateException error = Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> new Xsline(
+                    new StLambda(
+                        xml -> {
+                            if (!xml.nodes("/bad").isEmpty()) {
+                                throw new IllegalArgumentException("bad one");
+                            }
+                            return xml;
+                        }
+                    )
+                ).passAll(
+                    Arrays.asList(
+                        new XMLDocument("<good/>"),
+                        new XMLDocument("<bad/>"),
+                        new XMLDocument("<good/>"),
+                        new XMLDocument("<bad/>")
+                    ),
+                    executor
+                )
+            );
+            MatcherAssert.assertThat(
+                error.getMessage(),
+                Matchers.allOf(
+                    Matchers.containsString("2 out of 4"),
+                    Matchers.containsString("#1 failed: bad one"),
+                    Matchers.containsString("#3 failed: bad one")
+                )
+            );
+            MatcherAssert.assertThat(
+                error.getSuppressed().length,
+                Matchers.equalTo(2)
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void reportsEveryShift() {
+        final PassReport report = new Xsline(
+            new TrDefault<>(
+                new StLambda("one", xml -> xml),
+                new StLambda("two", xml -> new XMLDocument("<y><z/></y>"))
+            )
+        ).passWithReport(new XMLDocument("<x/>"));
+        MatcherAssert.assertThat(
+            report.output(),
+            XhtmlMatchers.hasXPath("/y/z")
+        );
+        MatcherAssert.assertThat(report.steps(), Matchers.hasSize(2));
+        MatcherAssert.assertThat(report.steps().get(1).uid(), Matchers.equalTo("two"));
+        MatcherAssert.assertThat(report.steps().get(1).before(), Matchers.equalTo(2L));
+        MatcherAssert.assertThat(report.steps().get(1).after(), Matchers.equalTo(3L));
+        MatcherAssert.assertThat(
+            report.nanos(),
+            Matchers.greaterThanOrEqualTo(report.steps().get(0).nanos())
+        );
+    }
+
+    @Test
+    void passesAsynchronously() {
+        MatcherAssert.assertThat(
+            new Xsline(new StClasspath("add-id.xsl"))
+                .passAsync(new XMLDocument("<x/>"))
+                .join(),
+            XhtmlMatchers.hasXPath("/x[@id]")
+        );
+    }
+
+    @Test
+    void passesAsynchronouslyInExecutor() {
+        final ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            final CompletableFuture<XML> future = new Xsline(
+                new StLambda(
+                    xml -> {
+                        throw new IllegalArgumentException("Broken");
+                    }
+                )
+            ).passAsync(new XMLDocument("<x/>"), exec);
+            final CompletionException error = Assertions.assertThrows(
+                CompletionException.class, future::join
+            );
+            MatcherAssert.assertThat(
+                error.getCause().getMessage(),
+                Matchers.containsString("Broken")
+            );
+        } finally {
+            exec.shutdown();
+        }
+    }
 }